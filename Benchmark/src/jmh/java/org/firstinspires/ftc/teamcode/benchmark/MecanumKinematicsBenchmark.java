@@ -0,0 +1,84 @@
+package org.firstinspires.ftc.teamcode.benchmark;
+
+import org.firstinspires.ftc.teamcode.components.MecanumKinematics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the trig-based wheel power computation that DriveTrain.move used to do with {@link
+ * MecanumKinematics}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MecanumKinematicsBenchmark {
+    private static final int INPUTS = 1024;
+    private static final double HALF_SQRT2 = 0.7071067811865476;
+
+    private final double[] xs = new double[INPUTS];
+    private final double[] ys = new double[INPUTS];
+    private final double[] rotates = new double[INPUTS];
+    private final double[] wheels = new double[MecanumKinematics.WHEELS];
+    private final double[] chassis = new double[3];
+    private final MecanumKinematics kinematics = new MecanumKinematics(1.0);
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(16796);
+        for (int i = 0; i < INPUTS; i++) {
+            xs[i] = random.nextDouble() * 2 - 1;
+            ys[i] = random.nextDouble() * 2 - 1;
+            rotates[i] = random.nextDouble() * 2 - 1;
+        }
+    }
+
+    private int next() {
+        index = (index + 1) & (INPUTS - 1);
+        return index;
+    }
+
+    /**
+     * The original DriveTrain.move body.
+     */
+    @Benchmark
+    public void trig(Blackhole bh) {
+        int i = next();
+        double x = xs[i];
+        double y = ys[i];
+        double rotate = rotates[i];
+        double robotAngle = -y;
+        double r = Math.hypot(x, robotAngle);
+        double rightX = -y;
+        robotAngle = Math.atan2(rightX, x) - 0.7853981633974483;
+        rightX = rotate / 1.25;
+        bh.consume(r * Math.cos(robotAngle) + rightX);
+        bh.consume(r * Math.sin(robotAngle) - rightX);
+        bh.consume(r * Math.sin(robotAngle) + rightX);
+        bh.consume(r * Math.cos(robotAngle) - rightX);
+    }
+
+    @Benchmark
+    public double[] inverse() {
+        int i = next();
+        kinematics.inverse(-ys[i] * HALF_SQRT2, -xs[i] * HALF_SQRT2, rotates[i] / 1.25, wheels);
+        MecanumKinematics.desaturate(wheels, 1.0);
+        return wheels;
+    }
+
+    @Benchmark
+    public double[] forward() {
+        int i = next();
+        kinematics.forward(xs[i], ys[i], rotates[i], xs[(i + 1) & (INPUTS - 1)], chassis);
+        return chassis;
+    }
+}
@@ -0,0 +1,19 @@
+package org.firstinspires.ftc.teamcode.benchmark;
+
+/**
+ * A sleeve detector that can run on a stored frame on a plain JVM.
+ */
+public interface FrameDetector {
+    /**
+     * @return A short name for reports
+     */
+    String getName();
+
+    /**
+     * @param argb Pixels in row-major order, packed as ARGB
+     * @param width The frame width
+     * @param height The frame height
+     * @return The label, or null if nothing was detected
+     */
+    String detect(int[] argb, int width, int height);
+}
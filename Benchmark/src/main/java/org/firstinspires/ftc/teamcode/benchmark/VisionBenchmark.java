@@ -0,0 +1,179 @@
+package org.firstinspires.ftc.teamcode.benchmark;
+
+import org.firstinspires.ftc.teamcode.auton.SleeveColorClassifier;
+import org.firstinspires.ftc.teamcode.components.LatencyHistogram;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Runs every {@link FrameDetector} over a folder of recorded frames and reports latency
+ * percentiles, throughput and accuracy.
+ *
+ * <p>Frames are PNG or JPEG files. A frame inside a subfolder is labelled with the subfolder name
+ * (for example {@code frames/3 Console/0042.png}); frames directly in the folder are unlabelled
+ * and only count towards latency. Run with {@code ./gradlew :Benchmark:visionBenchmark
+ * -Pframes=<folder>}.
+ *
+ * <p>As a regression gate, pass {@code --min-accuracy} and {@code --max-p99-ms}: the process
+ * exits with status 1 if any detector misses either bound.
+ */
+public final class VisionBenchmark {
+    private static final int WARMUP_PASSES = 2;
+    private static final int MEASURED_PASSES = 5;
+
+    private static final class Frame {
+        final String name;
+        final String label;
+        final int[] argb;
+        final int width;
+        final int height;
+
+        Frame(String name, String label, int[] argb, int width, int height) {
+            this.name = name;
+            this.label = label;
+            this.argb = argb;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private VisionBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println(
+                    "Usage: VisionBenchmark <frames> [--min-accuracy f] [--max-p99-ms ms]");
+            System.exit(2);
+        }
+        double minAccuracy = 0;
+        double maxP99Ms = Double.POSITIVE_INFINITY;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--min-accuracy")) minAccuracy = Double.parseDouble(args[i + 1]);
+            else if (args[i].equals("--max-p99-ms")) maxP99Ms = Double.parseDouble(args[i + 1]);
+            else throw new IllegalArgumentException("Unknown option " + args[i]);
+        }
+
+        List<Frame> frames = load(new File(args[0]));
+        if (frames.isEmpty()) throw new IOException("No frames found in " + args[0]);
+        System.out.printf(Locale.US, "%d frames%n", frames.size());
+        System.out.println(
+                "detector,frames,accuracy,p50_ms,p90_ms,p99_ms,max_ms,frames_per_s");
+
+        boolean passed = true;
+        for (FrameDetector detector : detectors()) {
+            passed &= run(detector, frames, minAccuracy, maxP99Ms);
+        }
+        if (!passed) System.exit(1);
+    }
+
+    /**
+     * @return The detectors to compare. Add variants here to sweep parameters.
+     */
+    static List<FrameDetector> detectors() {
+        List<FrameDetector> detectors = new ArrayList<>();
+        detectors.add(color("color-center", new SleeveColorClassifier()));
+        detectors.add(color("color-wide", new SleeveColorClassifier(
+                SleeveColorClassifier.DEFAULT_RANGES,
+                SleeveColorClassifier.DEFAULT_MIN_FRACTION,
+                0.2, 0.2, 0.8, 0.8)));
+        return detectors;
+    }
+
+    private static FrameDetector color(String name, SleeveColorClassifier classifier) {
+        return new FrameDetector() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String detect(int[] argb, int width, int height) {
+                return classifier.classify(argb, width, height).getLabel();
+            }
+        };
+    }
+
+    private static boolean run(
+            FrameDetector detector, List<Frame> frames, double minAccuracy, double maxP99Ms) {
+        for (int pass = 0; pass < WARMUP_PASSES; pass++) {
+            for (Frame frame : frames) detector.detect(frame.argb, frame.width, frame.height);
+        }
+
+        LatencyHistogram latency = new LatencyHistogram();
+        int labelled = 0;
+        int correct = 0;
+        long total = 0;
+        for (int pass = 0; pass < MEASURED_PASSES; pass++) {
+            for (Frame frame : frames) {
+                long start = System.nanoTime();
+                String label = detector.detect(frame.argb, frame.width, frame.height);
+                long elapsed = System.nanoTime() - start;
+                latency.record(elapsed);
+                total += elapsed;
+                if (pass == 0 && frame.label != null) {
+                    labelled++;
+                    if (frame.label.equals(label)) correct++;
+                }
+            }
+        }
+
+        double accuracy = labelled == 0 ? Double.NaN : (double) correct / labelled;
+        double p99Ms = latency.percentile(0.99) * 1e-6;
+        System.out.printf(Locale.US, "%s,%d,%.4f,%.3f,%.3f,%.3f,%.3f,%.1f%n",
+                detector.getName(), frames.size(), accuracy,
+                latency.percentile(0.5) * 1e-6, latency.percentile(0.9) * 1e-6, p99Ms,
+                latency.getMax() * 1e-6, latency.getCount() / (total * 1e-9));
+
+        boolean passed = true;
+        if (labelled > 0 && accuracy < minAccuracy) {
+            System.err.printf(Locale.US, "%s: accuracy %.4f below %.4f%n",
+                    detector.getName(), accuracy, minAccuracy);
+            passed = false;
+        }
+        if (p99Ms > maxP99Ms) {
+            System.err.printf(Locale.US, "%s: p99 %.3f ms above %.3f ms%n",
+                    detector.getName(), p99Ms, maxP99Ms);
+            passed = false;
+        }
+        return passed;
+    }
+
+    private static List<Frame> load(File folder) throws IOException {
+        List<Frame> frames = new ArrayList<>();
+        File[] entries = folder.listFiles();
+        if (entries == null) throw new IOException("Cannot list " + folder);
+        Arrays.sort(entries);
+        for (File entry : entries) {
+            if (entry.isDirectory()) {
+                File[] files = entry.listFiles();
+                if (files == null) continue;
+                Arrays.sort(files);
+                for (File file : files) addFrame(frames, file, entry.getName());
+            } else {
+                addFrame(frames, entry, null);
+            }
+        }
+        return frames;
+    }
+
+    private static void addFrame(List<Frame> frames, File file, String label)
+            throws IOException {
+        String name = file.getName().toLowerCase(Locale.US);
+        if (!name.endsWith(".png") && !name.endsWith(".jpg") && !name.endsWith(".jpeg")) return;
+        BufferedImage image = ImageIO.read(file);
+        if (image == null) throw new IOException("Cannot decode " + file);
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] argb = image.getRGB(0, 0, width, height, null, 0, width);
+        frames.add(new Frame(file.getName(), label, argb, width, height));
+    }
+}
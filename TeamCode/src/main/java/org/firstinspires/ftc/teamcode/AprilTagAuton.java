@@ -0,0 +1,17 @@
+package org.firstinspires.ftc.teamcode;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+
+import org.firstinspires.ftc.teamcode.auton.AprilTagSleeveDetector;
+import org.firstinspires.ftc.teamcode.components.InitGraph;
+
+/**
+ * {@link Auton} with the sleeve read from an AprilTag.
+ */
+@Autonomous(name = "AprilTag Sleeve Autonomous Mode")
+public class AprilTagAuton extends Auton {
+    @Override
+    protected void addDetectorStages(InitGraph init) {
+        init.stage("camera", () -> setDetector(new AprilTagSleeveDetector(hardwareMap, LABELS)));
+    }
+}
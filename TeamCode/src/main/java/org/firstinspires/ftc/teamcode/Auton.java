@@ -8,20 +8,39 @@ import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
 import org.firstinspires.ftc.robotcore.external.ClassFactory;
 import org.firstinspires.ftc.robotcore.external.navigation.VuforiaLocalizer;
 import org.firstinspires.ftc.robotcore.external.navigation.VuforiaLocalizer.CameraDirection;
-import org.firstinspires.ftc.robotcore.external.tfod.Recognition;
 import org.firstinspires.ftc.robotcore.external.tfod.TFObjectDetector;
+import org.firstinspires.ftc.robotcore.internal.system.AppUtil;
+import org.firstinspires.ftc.teamcode.auton.AutonPlan;
+import org.firstinspires.ftc.teamcode.auton.ModelStore;
+import org.firstinspires.ftc.teamcode.auton.SleeveDetector;
+import org.firstinspires.ftc.teamcode.auton.SleeveVoter;
+import org.firstinspires.ftc.teamcode.auton.TfodDetector;
+import org.firstinspires.ftc.teamcode.command.Command;
+import org.firstinspires.ftc.teamcode.command.CommandScheduler;
+import org.firstinspires.ftc.teamcode.command.DriveCommand;
+import org.firstinspires.ftc.teamcode.components.BulkReadManager;
+import org.firstinspires.ftc.teamcode.components.DataLogger;
 import org.firstinspires.ftc.teamcode.components.DriveTrain;
+import org.firstinspires.ftc.teamcode.components.HardwareRecorder;
+import org.firstinspires.ftc.teamcode.components.InitGraph;
+import org.firstinspires.ftc.teamcode.components.InitProfiler;
+import org.firstinspires.ftc.teamcode.components.LoopTimer;
+import org.firstinspires.ftc.teamcode.motion.MotionProfile;
+import org.firstinspires.ftc.teamcode.motion.MotionProfiles;
 
-import java.util.List;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 @Autonomous(name = "AI-powered Autonomous Mode")
 public class Auton extends LinearOpMode {
-    private static final String TFOD_MODEL_ASSET = "model.tflite";
-    // adb
-    //    private static final String TFOD_MODEL_FILE =
-    // Environment.getExternalStorageDirectory().getPath() + "/model.tflite";
+    /**
+     * Model name, looked up in {@link ModelStore#MODEL_DIR} (pushed with adb) and then the assets
+     */
+    private static final String TFOD_MODEL = "model.tflite";
 
-    private static final String[] LABELS = {"1 Dragon", "2 Robot", "3 Console"};
+    protected static final String[] LABELS = {"1 Dragon", "2 Robot", "3 Console"};
 
     /**
      * Vuforia
@@ -36,87 +55,320 @@ public class Auton extends LinearOpMode {
      */
     private TFObjectDetector tfod;
 
+    /**
+     * The storage model, once its checksum has been checked, or null to load the asset
+     */
+    private ModelStore.Model storageModel;
+
+    /**
+     * Reads the signal sleeve
+     */
+    private SleeveDetector detector;
+
+    /**
+     * Hub reads, updated at the top of each control loop cycle
+     */
+    private BulkReadManager bulkReads;
+
     /**
      * DriveTrain
      */
     private DriveTrain driveTrain;
 
+    /**
+     * The routine for each sleeve label, built during init
+     */
+    private AutonPlan plan;
+
+    /**
+     * Runs the autonomous commands
+     */
+    private final CommandScheduler scheduler = new CommandScheduler();
+
+    /**
+     * Control loop timing
+     */
+    private final LoopTimer loopTimer = new LoopTimer();
+
+    /**
+     * Drive train reads and writes, saved on stop for offline replay
+     */
+    private final HardwareRecorder recorder = new HardwareRecorder();
+
+    /**
+     * Init timing, kept across runs
+     */
+    private final InitProfiler profiler = new InitProfiler();
+
+    /**
+     * Binary log of the detection loop, or null if it could not be opened
+     */
+    private DataLogger logger;
+    private int ageChannel;
+    private int labelChannel;
+    private int detectChannel;
+    private int statusChannel;
+
     @Override
     public void runOpMode() {
-        initializeVuforia();
-        initializeTFOD();
-        driveTrain = new DriveTrain(hardwareMap);
+        InitGraph init = new InitGraph().setProfiler(profiler);
+        init.stage("drive train", () -> {
+            long start = profiler.start();
+            bulkReads = new BulkReadManager(hardwareMap);
+            profiler.end("drive train hubs", start);
+            driveTrain = new DriveTrain(hardwareMap, bulkReads, profiler);
+            // Reads, command code and writes are timed as separate loop phases
+            driveTrain.setDeferWrites(true);
+            bulkReads.setRecorder(recorder);
+            driveTrain.setRecorder(recorder);
+        });
+        init.stage("plan", () -> plan = buildPlan(), "drive train");
+        addDetectorStages(init);
+        init.run();
+        saveProfile();
 
-        if (tfod != null) {
-            tfod.activate();
-            tfod.setZoom(1.0, 16.0 / 9.0);
+        if (detector == null) {
+            reportInit(init);
+            telemetry.addData(">", "Press Play to start op mode");
+            telemetry.update();
+            waitForStart();
+            return;
         }
 
-        telemetry.addData(">", "Press Play to start op mode");
-        telemetry.update();
-        waitForStart();
+        openLogger();
+        if (logger != null) {
+            ageChannel = logger.addChannel("frame_age_ms", DataLogger.DOUBLE);
+            labelChannel = logger.addChannel("label", DataLogger.STRING);
+            detectChannel = logger.addChannel("detect_ms", DataLogger.DOUBLE);
+            statusChannel = logger.addChannel("detector", DataLogger.STRING);
+        }
+        SleeveVoter voter = new SleeveVoter(LABELS, LABELS[1]);
+        voter.setRolling(true);
+        detector.start();
+
+        // Read the sleeve while waiting for START, so the decision is ready when it comes
+        showInit(init, voter);
+        while (opModeInInit()) {
+            if (detector.poll(voter)) {
+                logFrame(voter);
+                showInit(init, voter);
+            } else {
+                idle();
+            }
+        }
 
+        // Only keep looking after START if nothing was seen during init
+        if (voter.getLeader() != null) voter.decide();
+        else voter.setRolling(false);
+        while (opModeIsActive() && !voter.update()) {
+            if (detector.poll(voter)) logFrame(voter);
+            else idle();
+        }
+        detector.stop();
+        closeLogger();
         if (!opModeIsActive()) return;
-        if (tfod == null) return;
 
-        String label = "";
+        String label = voter.getDecision() == null ? "" : voter.getDecision();
+        telemetry.addData("Sleeve", "%s after %d frames%s", label, voter.getFrames(),
+                voter.isTimedOut() ? " (timeout)" : "");
+        telemetry.addData("Vision frames dropped", detector.getChannel().getDropped());
+        telemetry.addData("Vision frame age (ms)", detector.getChannel().getLastAgeNanos() * 1e-6);
+        scheduler.schedule(plan.select(voter.getDecision()));
+        runCommands();
+    }
 
-        while (opModeIsActive() && label.isEmpty()) {
-            List<Recognition> recognitions = tfod.getUpdatedRecognitions();
-            if (recognitions == null) continue;
-            Log.d("X", "# Objects Detected: " + recognitions.size() + "\n");
+    /**
+     * Show the slowest init spans and the wall-clock init time.
+     */
+    private void reportInit(InitGraph init) {
+        profiler.publish(telemetry);
+        telemetry.addData("Init wall", "%.0f ms", init.getWallNanos() * 1e-6);
+    }
 
-            double maxConfience = 0.0;
-            for (Recognition recogn : recognitions) {
-                if (maxConfience < recogn.getConfidence()) {
-                    label = recogn.getLabel();
-                    maxConfience = recogn.getConfidence();
-                }
-            }
+    /**
+     * @param suffix The file name after the op mode name
+     * @return A file in the robot data folder named after this op mode, so op modes that share
+     * this class do not overwrite each other's files
+     */
+    private File dataFile(String suffix) {
+        return new File(AppUtil.ROBOT_DATA_DIR, getClass().getSimpleName() + "_" + suffix);
+    }
+
+    /**
+     * Merge this run's init spans into the op mode's summary file. Profiling is optional, so a
+     * failure is only logged.
+     */
+    private void saveProfile() {
+        try {
+            profiler.save(dataFile("init_profile.csv"));
+        } catch (IOException e) {
+            Log.e("Auton", "Failed to write init profile: " + e.getMessage());
         }
-        switch (label) {
-            case "1 Dragon":
-                case1();
-                break;
-            case "2 Robot":
-                case2();
-                break;
-            case "3 Console":
-                case3();
-                break;
-            default:
-                case2();
+    }
+
+    /**
+     * Show init timing and the live sleeve decision.
+     */
+    private void showInit(InitGraph init, SleeveVoter voter) {
+        reportInit(init);
+        if (detector.getError() != null) telemetry.addData("Detector", detector.getError());
+        if (storageModel != null) telemetry.addData("Model", storageModel);
+        if (!Double.isNaN(detector.getLastFrameMs())) {
+            telemetry.addData("Vision detect (ms)", "%.1f", detector.getLastFrameMs());
         }
-        case2();
-        tfod.shutdown();
+        if (detector.getStatus() != null) telemetry.addData("Vision", detector.getStatus());
+        String leader = voter.getLeader();
+        telemetry.addData("Sleeve", "%s (%.0f%% over %d frames)",
+                leader == null ? "none" : leader, voter.getConfidence() * 100, voter.getFrames());
+        telemetry.addData(">", "Press Play to start op mode");
+        telemetry.update();
+    }
+
+    /**
+     * Log the frame just added to the voter.
+     */
+    private void logFrame(SleeveVoter voter) {
+        if (logger == null) return;
+        logger.startRow();
+        logger.log(ageChannel, detector.getChannel().getLastAgeNanos() * 1e-6);
+        if (voter.getDecision() != null) logger.log(labelChannel, voter.getDecision());
+        if (!Double.isNaN(detector.getLastFrameMs())) {
+            logger.log(detectChannel, detector.getLastFrameMs());
+        }
+        if (detector.getStatus() != null) logger.log(statusChannel, detector.getStatus());
+    }
+
+    /**
+     * Add the init stages that create the sleeve detector. They run concurrently with building
+     * the drive train; override to use a different detector, passing it to {@link
+     * #setDetector(SleeveDetector)}.
+     *
+     * <p>A model pushed to {@link ModelStore#MODEL_DIR} is checked through the store while
+     * Vuforia starts, and is only used if it passes. The store keeps it across runs, so later
+     * runs check it without reading it again. Assets are covered by the APK signature and are
+     * loaded by the SDK directly, without being read twice.
+     *
+     * @param init The init graph
+     */
+    protected void addDetectorStages(InitGraph init) {
+        init.stage("vuforia", this::initializeVuforia);
+        init.stage("model check", this::checkStorageModel);
+        init.stage("tfod", () -> {
+            initializeTFOD();
+            if (tfod == null) return;
+            tfod.activate();
+            tfod.setZoom(1.0, 16.0 / 9.0);
+            setDetector(new TfodDetector(tfod));
+        }, "vuforia", "model check");
+    }
+
+    /**
+     * @param detector The detector to read the sleeve with
+     */
+    protected final void setDetector(SleeveDetector detector) {
+        this.detector = detector;
+    }
+
+    /**
+     * Build the routine for every label, so START only has to pick one.
+     */
+    private AutonPlan buildPlan() {
+        Map<String, Command> branches = new HashMap<>();
+        branches.put(LABELS[0], case1());
+        branches.put(LABELS[1], case2());
+        branches.put(LABELS[2], case3());
+        return new AutonPlan(branches, LABELS[1]);
     }
 
     /**
      * Move for case 1
      */
-    private void case1() {
-        driveTrain.move(0, 0.75);
-        driveTrain.wait(1000.0);
-        driveTrain.move(-0.75, 0);
-        driveTrain.wait(1000.0);
+    private Command case1() {
+        MotionProfile forward = profile(0, DriveTrain.TILE);
+        MotionProfile left = profile(-DriveTrain.TILE, 0);
+        return new DriveCommand(driveTrain, dt -> {
+            dt.queueProfiledMove(0, DriveTrain.TILE, forward);
+            dt.queueProfiledMove(-DriveTrain.TILE, 0, left);
+        });
     }
 
     /**
      * Move for case 2
      */
-    private void case2() {
-        driveTrain.move(0, 0.75);
-        driveTrain.wait(1800.0);
+    private Command case2() {
+        MotionProfile forward = profile(0, 1.8 * DriveTrain.TILE);
+        return new DriveCommand(driveTrain,
+                dt -> dt.queueProfiledMove(0, 1.8 * DriveTrain.TILE, forward));
     }
 
     /**
-     * Move for case 2
+     * Move for case 3
+     */
+    private Command case3() {
+        MotionProfile forward = profile(0, DriveTrain.TILE);
+        MotionProfile right = profile(DriveTrain.TILE, 0);
+        return new DriveCommand(driveTrain, dt -> {
+            dt.queueProfiledMove(0, DriveTrain.TILE, forward);
+            dt.queueProfiledMove(DriveTrain.TILE, 0, right);
+        });
+    }
+
+    private static MotionProfile profile(double x, double y) {
+        return MotionProfiles.sCurve(Math.hypot(x, y), DriveTrain.DEFAULT_CONSTRAINTS);
+    }
+
+    /**
+     * Run scheduled commands until they finish or the op mode stops.
+     */
+    private void runCommands() {
+        while (opModeIsActive()) {
+            loopTimer.startCycle();
+            bulkReads.update();
+            loopTimer.lap(LoopTimer.Phase.READ);
+            boolean running = scheduler.run();
+            loopTimer.lap(LoopTimer.Phase.COMPUTE);
+            driveTrain.flush();
+            loopTimer.lap(LoopTimer.Phase.WRITE);
+            if (loopTimer.publish(telemetry)) telemetry.update();
+            loopTimer.lap(LoopTimer.Phase.TELEMETRY);
+            loopTimer.endCycle();
+            if (!running) break;
+            idle();
+        }
+        scheduler.cancelAll();
+        // Send the stop from the cancelled commands
+        driveTrain.flush();
+        try {
+            loopTimer.writeSummary(dataFile("loop_timing.csv"));
+        } catch (IOException e) {
+            Log.e("Auton", "Failed to write loop timing: " + e.getMessage());
+        }
+        try {
+            recorder.writeTo(dataFile("hardware.rec"));
+        } catch (IOException e) {
+            Log.e("Auton", "Failed to write hardware recording: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Open the binary detection log. Logging is optional, so a failure only disables it.
      */
-    private void case3() {
-        driveTrain.move(0, 0.75);
-        driveTrain.wait(1000.0);
-        driveTrain.move(0.75, 0);
-        driveTrain.wait(1000.0);
+    private void openLogger() {
+        try {
+            logger = new DataLogger(dataFile("detection.bin"), 1 << 20);
+        } catch (IOException e) {
+            Log.e("Auton", "Failed to open data log: " + e.getMessage());
+        }
+    }
+
+    private void closeLogger() {
+        if (logger == null) return;
+        try {
+            logger.close();
+        } catch (IOException e) {
+            Log.e("Auton", "Failed to close data log: " + e.getMessage());
+        }
+        logger = null;
     }
 
     /**
@@ -138,6 +390,22 @@ public class Auton extends LinearOpMode {
         vuforia = ClassFactory.getInstance().createVuforia(parameters);
     }
 
+    /**
+     * Check the storage model, if there is one, against its checksum. A model that fails is only
+     * logged, and the asset is loaded instead.
+     */
+    private void checkStorageModel() {
+        if (!new File(ModelStore.MODEL_DIR, TFOD_MODEL).isFile()) return;
+        try {
+            ModelStore.Model model =
+                    ModelStore.load(hardwareMap.appContext.getAssets(), TFOD_MODEL);
+            // Null if the file went away after the check above
+            if (model.getFile() != null) storageModel = model;
+        } catch (IOException e) {
+            Log.e("Auton", "Storage model rejected, loading the asset: " + e.getMessage());
+        }
+    }
+
     /**
      * Initialize the TensorFlow Object Detection engine.
      */
@@ -154,8 +422,15 @@ public class Auton extends LinearOpMode {
         tfodParameters.isModelTensorFlow2 = true;
         tfodParameters.inputSize = 300;
 
+        long start = profiler.start();
         tfod = ClassFactory.getInstance().createTFObjectDetector(tfodParameters, vuforia);
-        tfod.loadModelFromAsset(TFOD_MODEL_ASSET, LABELS);
-        //        tfod.loadModelFromFile(TFOD_MODEL_FILE, LABELS);
+        profiler.end("tfod create", start);
+        start = profiler.start();
+        if (storageModel != null) {
+            tfod.loadModelFromFile(storageModel.getFile().getPath(), LABELS);
+        } else {
+            tfod.loadModelFromAsset(TFOD_MODEL, LABELS);
+        }
+        profiler.end("tfod model load", start);
     }
 }
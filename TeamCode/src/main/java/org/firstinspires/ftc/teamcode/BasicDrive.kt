@@ -1,10 +1,19 @@
 package org.firstinspires.ftc.teamcode
 
+import android.util.Log
 import com.qualcomm.robotcore.eventloop.opmode.OpMode
 import com.qualcomm.robotcore.eventloop.opmode.TeleOp
 import com.qualcomm.robotcore.hardware.DcMotor
 import com.qualcomm.robotcore.hardware.DcMotorSimple
 import com.qualcomm.robotcore.hardware.Servo
+import org.firstinspires.ftc.robotcore.internal.system.AppUtil
+import org.firstinspires.ftc.teamcode.components.CachingMotor
+import org.firstinspires.ftc.teamcode.components.CachingServo
+import org.firstinspires.ftc.teamcode.components.HardwareRecorder
+import org.firstinspires.ftc.teamcode.components.LoopTimer
+import org.firstinspires.ftc.teamcode.components.WriteStats
+import java.io.File
+import java.io.IOException
 import kotlin.math.*
 
 /**
@@ -31,46 +40,100 @@ class BasicDrive : OpMode() {
      * Run continuously. This function is called repeatedly in a loop.
      */
     override fun loop() {
-        intakeArm.power = if (pad.right_trigger == 1f) .5 else .05
+        loopTimer.startCycle()
+        readInput()
+        loopTimer.lap(LoopTimer.Phase.READ)
 
-        if (pad.b) {
-            gripServerLeft.position = 0.25
-            gripServoRight.position = 0.25
-        }
-        if (pad.a) {
-            gripServerLeft.position = 0.75
-            gripServoRight.position = 0.75
+        val armPower = if (rightTrigger == 1f) .5 else .05
+        val gripPosition = if (close) 0.75 else if (open) 0.25 else Double.NaN
+        val slidePower = if (leftTrigger >= 0.05) -1.0 else if (rightTrigger >= 0.05) 0.4 else -0.16
+        mecanumWheel()
+        loopTimer.lap(LoopTimer.Phase.COMPUTE)
+
+        intakeArm.setPower(armPower)
+        if (!gripPosition.isNaN()) {
+            gripServerLeft.setPosition(gripPosition)
+            gripServoRight.setPosition(gripPosition)
         }
+        linearSlide.setPower(slidePower)
+        frontRight.setPower(wheelPowers[0])
+        frontLeft.setPower(wheelPowers[1])
+        backRight.setPower(wheelPowers[2])
+        backLeft.setPower(wheelPowers[3])
+        writeStats.endCycle()
+        loopTimer.lap(LoopTimer.Phase.WRITE)
 
-        if (pad.left_trigger >= 0.05)
-            linearSlide.power = -1.0
-        else if (gamepad1.right_trigger >= 0.05)
-            linearSlide.power = 0.4
-        else
-            linearSlide.power = -0.16
+        loopTimer.publish(telemetry)
+        loopTimer.lap(LoopTimer.Phase.TELEMETRY)
+        loopTimer.endCycle()
+    }
 
-        mecanumWheel()
+    /**
+     * Copy the gamepad state used by this cycle.
+     */
+    private fun readInput() {
+        leftStickX = pad.left_stick_x
+        leftStickY = pad.left_stick_y
+        rightStickX = pad.right_stick_x
+        leftTrigger = pad.left_trigger
+        rightTrigger = pad.right_trigger
+        open = pad.b
+        close = pad.a
     }
 
     /**
-     * Mecanum wheel drive train. This function is called in loop() to control the drive
-     * train.
+     * Mecanum wheel drive train. This function is called in loop() to compute the drive
+     * train powers into [wheelPowers], in front right, front left, back right, back left order.
      */
     private fun mecanumWheel() {
-        val dx = if (abs(pad.left_stick_x) < 0.05) 0.0 else -pad.left_stick_x.toDouble()
-        val dy = if (abs(pad.right_stick_x) < 0.05) 0.0 else -pad.right_stick_x.toDouble()
-        val dr = if (abs(pad.left_stick_y) < 0.05) 0.0 else pad.left_stick_y.toDouble()
+        val dx = if (abs(leftStickX) < 0.05) 0.0 else -leftStickX.toDouble()
+        val dy = if (abs(rightStickX) < 0.05) 0.0 else -rightStickX.toDouble()
+        val dr = if (abs(leftStickY) < 0.05) 0.0 else leftStickY.toDouble()
         val r = hypot(dx, -dy)
         val robotAngle = atan2(-dy, dx) - Math.PI / 4
         val rightX = dr / 1.25
 
-        frontRight.power = (r * cos(robotAngle) + rightX) * .75
-        frontLeft.power = (r * cos(robotAngle) - rightX) * .75
-        backRight.power = (r * sin(robotAngle) + rightX) * .75
-        backLeft.power = (r * sin(robotAngle) - rightX) * .75
+        wheelPowers[0] = (r * cos(robotAngle) + rightX) * .75
+        wheelPowers[1] = (r * cos(robotAngle) - rightX) * .75
+        wheelPowers[2] = (r * sin(robotAngle) + rightX) * .75
+        wheelPowers[3] = (r * sin(robotAngle) - rightX) * .75
     }
 
-    override fun stop() {}
+    /**
+     * Save the loop timing summary and the hardware recording.
+     */
+    override fun stop() {
+        try {
+            loopTimer.writeSummary(File(AppUtil.ROBOT_DATA_DIR, "BasicDrive_loop_timing.csv"))
+        } catch (e: IOException) {
+            Log.e(TAG, "Failed to write loop timing: ${e.message}")
+        }
+        try {
+            recorder.writeTo(File(AppUtil.ROBOT_DATA_DIR, "BasicDrive_hardware.rec"))
+        } catch (e: IOException) {
+            Log.e(TAG, "Failed to write hardware recording: ${e.message}")
+        }
+    }
+
+    companion object {
+        const val TAG = "BasicDrive"
+    }
+
+    /**
+     * Counts of actuator writes sent and suppressed, closed at the end of every loop.
+     */
+    private val writeStats = WriteStats()
+
+    /**
+     * Loop timing, published to telemetry once a second and saved on stop.
+     */
+    private val loopTimer = LoopTimer()
+
+    /**
+     * Every actuator write sent, saved on stop for offline replay. Nothing is bulk read here, so
+     * there are no reads to record.
+     */
+    private val recorder = HardwareRecorder()
 
     /**
      * Drive train motors. These motors are used to control the drive train.
@@ -78,39 +141,63 @@ class BasicDrive : OpMode() {
     private val backLeft by lazy {
         hardwareMap[DcMotor::class.java, "backLeft"]
             .apply { direction = DcMotorSimple.Direction.FORWARD }
+            .let { CachingMotor(it, writeStats).apply { setRecorder(recorder, "backLeft") } }
     }
     private val backRight by lazy {
         hardwareMap[DcMotor::class.java, "backRight"]
             .apply { direction = DcMotorSimple.Direction.REVERSE }
+            .let { CachingMotor(it, writeStats).apply { setRecorder(recorder, "backRight") } }
     }
     private val frontLeft by lazy {
         hardwareMap[DcMotor::class.java, "frontLeft"]
             .apply { direction = DcMotorSimple.Direction.FORWARD }
+            .let { CachingMotor(it, writeStats).apply { setRecorder(recorder, "frontLeft") } }
     }
     private val frontRight by lazy {
         hardwareMap[DcMotor::class.java, "frontRight"]
             .apply { direction = DcMotorSimple.Direction.REVERSE }
+            .let { CachingMotor(it, writeStats).apply { setRecorder(recorder, "frontRight") } }
     }
 
     /**
      * Intake motors. These motors are used to control the intake.
      */
     private val intakeArm by lazy {
-        hardwareMap[DcMotor::class.java, "baseArm"]
+        CachingMotor(hardwareMap[DcMotor::class.java, "baseArm"], writeStats)
+            .apply { setRecorder(recorder, "baseArm") }
     }
     private val gripServerLeft by lazy {
-        hardwareMap[Servo::class.java, "gripServo1"]
+        CachingServo(hardwareMap[Servo::class.java, "gripServo1"], writeStats)
+            .apply { setRecorder(recorder, "gripServo1") }
     }
     private val gripServoRight by lazy {
         hardwareMap[Servo::class.java, "gripServo2"]
             .apply { direction = Servo.Direction.REVERSE }
+            .let { CachingServo(it, writeStats).apply { setRecorder(recorder, "gripServo2") } }
     }
     private val linearSlide by lazy {
-        hardwareMap[DcMotor::class.java, "linearSlide"]
+        CachingMotor(hardwareMap[DcMotor::class.java, "linearSlide"], writeStats)
+            .apply { setRecorder(recorder, "linearSlide") }
     }
 
     /**
      * The default gamepad. This is the gamepad that is used to control the robot.
      */
     private val pad by lazy { gamepad1 }
+
+    /**
+     * Gamepad state for the current cycle, copied by [readInput].
+     */
+    private var leftStickX = 0f
+    private var leftStickY = 0f
+    private var rightStickX = 0f
+    private var leftTrigger = 0f
+    private var rightTrigger = 0f
+    private var open = false
+    private var close = false
+
+    /**
+     * Drive train powers computed by [mecanumWheel].
+     */
+    private val wheelPowers = DoubleArray(4)
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package org.firstinspires.ftc.teamcode;
+
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+
+import org.firstinspires.ftc.teamcode.auton.ColorSleeveDetector;
+import org.firstinspires.ftc.teamcode.components.InitGraph;
+
+/**
+ * {@link Auton} with the sleeve read by color instead of TensorFlow. Skips Vuforia and the model
+ * load, so init takes well under a second.
+ */
+@Autonomous(name = "Color Sleeve Autonomous Mode")
+public class ColorAuton extends Auton {
+    @Override
+    protected void addDetectorStages(InitGraph init) {
+        init.stage("camera", () -> setDetector(new ColorSleeveDetector(hardwareMap)));
+    }
+}
@@ -100,6 +100,7 @@ class OpenCVAuton : LinearOpMode() {
                 blockRight()
             }
         }
+        while (opModeIsActive() && driveTrain.update()) idle()
         driveTrain.stop()
     }
 
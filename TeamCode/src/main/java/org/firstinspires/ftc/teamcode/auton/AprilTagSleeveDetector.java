@@ -0,0 +1,117 @@
+package org.firstinspires.ftc.teamcode.auton;
+
+import android.util.Log;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.robotcore.external.hardware.camera.WebcamName;
+import org.openftc.easyopencv.OpenCvCamera;
+import org.openftc.easyopencv.OpenCvCameraFactory;
+import org.openftc.easyopencv.OpenCvCameraRotation;
+import org.openftc.easyopencv.OpenCvWebcam;
+
+import java.util.Locale;
+
+/**
+ * Reads the sleeve from an AprilTag with {@link AprilTagSleevePipeline}.
+ */
+public final class AprilTagSleeveDetector implements SleeveDetector {
+    private static final String TAG = "AprilTagSleeveDetector";
+
+    /**
+     * Name of the webcam in the hardware map
+     */
+    public static final String CAMERA_NAME = "Webcam 1";
+    /**
+     * Stream size, matching the camera intrinsics in {@link AprilTagSleevePipeline}
+     */
+    public static final int STREAM_WIDTH = 800;
+    public static final int STREAM_HEIGHT = 448;
+    /**
+     * Tag IDs printed on the sleeve, in the order of the labels
+     */
+    public static final int[] DEFAULT_IDS = {1, 2, 3};
+
+    private final VisionChannel<AprilTagSleevePipeline.Result> channel = new VisionChannel<>();
+    private final AprilTagSleevePipeline pipeline;
+    private final OpenCvWebcam webcam;
+    private volatile String error;
+    private double lastDetectMs = Double.NaN;
+    private String lastStatus;
+
+    /**
+     * Create the webcam and start opening it in the background.
+     *
+     * @param map The hardware map
+     * @param labels The label of each tag in {@link #DEFAULT_IDS}
+     */
+    public AprilTagSleeveDetector(HardwareMap map, String[] labels) {
+        int cameraMonitorViewId = map.appContext.getResources().getIdentifier(
+                "cameraMonitorViewId", "id", map.appContext.getPackageName());
+        webcam = OpenCvCameraFactory.getInstance().createWebcam(
+                map.get(WebcamName.class, CAMERA_NAME), cameraMonitorViewId);
+        pipeline = new AprilTagSleevePipeline(DEFAULT_IDS, labels, channel);
+        webcam.setPipeline(pipeline);
+        webcam.openCameraDeviceAsync(new OpenCvCamera.AsyncCameraOpenListener() {
+            @Override
+            public void onOpened() {
+                webcam.startStreaming(STREAM_WIDTH, STREAM_HEIGHT, OpenCvCameraRotation.UPRIGHT);
+            }
+
+            @Override
+            public void onError(int errorCode) {
+                // No frames will come; the voter times out to its fallback
+                error = "Camera failed to open (error " + errorCode + ")";
+                Log.e(TAG, error);
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public boolean poll(SleeveVoter voter) {
+        VisionChannel.Frame<AprilTagSleevePipeline.Result> frame = channel.poll();
+        if (frame == null) return false;
+        AprilTagSleevePipeline.Result result = frame.getValue();
+        lastDetectMs = result.getDetectMs();
+        lastStatus = String.format(Locale.US, "decimation %.0f, %s", result.getDecimation(),
+                result.isTracking() ? "tracking" : "full frame");
+        voter.addFrame(result.getLabel(), 1.0);
+        return true;
+    }
+
+    /**
+     * @return Time in the AprilTag detector for the last polled frame, in milliseconds
+     */
+    @Override
+    public double getLastFrameMs() {
+        return lastDetectMs;
+    }
+
+    /**
+     * @return The decimation the last polled frame was searched at, and whether only the region
+     * around the last tag was searched
+     */
+    @Override
+    public String getStatus() {
+        return lastStatus;
+    }
+
+    @Override
+    public VisionChannel<AprilTagSleevePipeline.Result> getChannel() {
+        return channel;
+    }
+
+    @Override
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public void stop() {
+        webcam.closeCameraDeviceAsync(pipeline::release);
+    }
+}
@@ -0,0 +1,249 @@
+package org.firstinspires.ftc.teamcode.auton;
+
+import org.opencv.core.Mat;
+import org.opencv.core.Point;
+import org.opencv.core.Rect;
+import org.opencv.core.Scalar;
+import org.opencv.imgproc.Imgproc;
+import org.openftc.apriltag.AprilTagDetection;
+import org.openftc.apriltag.AprilTagDetectorJNI;
+import org.openftc.easyopencv.OpenCvPipeline;
+
+import java.util.List;
+
+/**
+ * EasyOpenCV pipeline that reads the signal sleeve from an AprilTag and publishes each result to
+ * a {@link VisionChannel}.
+ *
+ * <p>Detection starts at the coarsest decimation, which is fastest, and only moves to a finer
+ * one after a full frame finds no tag. Once a tag is found, the following frames are searched
+ * only in a padded region around it, at the decimation that found it; if the tag is lost there,
+ * the next frame searches the whole image again from the coarsest decimation. A miss at the
+ * finest decimation also starts over from the coarsest, so a tag that comes closer is found
+ * quickly again. Only the tag ID is used, so no pose is computed.
+ *
+ * <p>The tracked region is copied into a continuous buffer before detection, because the native
+ * detector reads the image as one contiguous block and a submat of the frame is not one.
+ */
+public final class AprilTagSleevePipeline extends OpenCvPipeline {
+    /**
+     * Decimations tried, coarsest first
+     */
+    public static final float[] DECIMATIONS = {4f, 2f, 1f};
+    /**
+     * Padding around the last tag, as a multiple of its size on each side
+     */
+    public static final double ROI_PADDING = 1.0;
+    /**
+     * How far the tracked region may drift before its submat is rebuilt, in pixels
+     */
+    public static final int ROI_SLACK = 8;
+    /**
+     * Tag size, in meters
+     */
+    public static final double TAG_SIZE = 0.166;
+
+    // Intrinsics of the Logitech C920 at 800x448; only used for pose, which is not read
+    private static final double FX = 578.272;
+    private static final double FY = 578.272;
+    private static final double CX = 402.145;
+    private static final double CY = 221.506;
+
+    private static final Scalar ROI_COLOR = new Scalar(0, 255, 0, 255);
+
+    /**
+     * The outcome of one frame.
+     */
+    public static final class Result {
+        private final String label;
+        private final int id;
+        private final double detectMs;
+        private final float decimation;
+        private final boolean tracking;
+
+        Result(String label, int id, double detectMs, float decimation, boolean tracking) {
+            this.label = label;
+            this.id = id;
+            this.detectMs = detectMs;
+            this.decimation = decimation;
+            this.tracking = tracking;
+        }
+
+        /**
+         * @return The label of the tag found, or null if no known tag was found
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * @return The ID of the tag found, or -1
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * @return Time spent in the detector, in milliseconds
+         */
+        public double getDetectMs() {
+            return detectMs;
+        }
+
+        /**
+         * @return The decimation the frame was searched at
+         */
+        public float getDecimation() {
+            return decimation;
+        }
+
+        /**
+         * @return True if only the region around the last tag was searched
+         */
+        public boolean isTracking() {
+            return tracking;
+        }
+    }
+
+    private final int[] ids;
+    private final String[] labels;
+    private final VisionChannel<Result> channel;
+    private final Mat grey = new Mat();
+    private final Mat roiBuffer = new Mat();
+    private final Rect roiRect = new Rect();
+    private final Rect builtRect = new Rect();
+    private long detector;
+    private int level;
+    private boolean tracking;
+    private Mat roi;
+    private long roiAddress;
+
+    /**
+     * @param ids Tag IDs, one per label
+     * @param labels The label of each tag ID
+     * @param channel Where to publish results
+     */
+    public AprilTagSleevePipeline(int[] ids, String[] labels, VisionChannel<Result> channel) {
+        if (ids.length != labels.length) {
+            throw new IllegalArgumentException("Need exactly one label per tag ID");
+        }
+        this.ids = ids.clone();
+        this.labels = labels.clone();
+        this.channel = channel;
+        detector = AprilTagDetectorJNI.createApriltagDetector(
+                AprilTagDetectorJNI.TagFamily.TAG_36h11.string, DECIMATIONS[0], 3);
+    }
+
+    @Override
+    public synchronized Mat processFrame(Mat input) {
+        if (detector == 0) return input;
+        Imgproc.cvtColor(input, grey, Imgproc.COLOR_RGBA2GRAY);
+
+        boolean searchRoi = tracking;
+        Mat target = searchRoi ? trackedRegion() : grey;
+        float decimation = DECIMATIONS[level];
+        AprilTagDetectorJNI.setApriltagDetectorDecimation(detector, decimation);
+        long start = System.nanoTime();
+        List<AprilTagDetection> detections = AprilTagDetectorJNI.runAprilTagDetectorSimple(
+                detector, target, TAG_SIZE, FX, FY, CX, CY);
+        double detectMs = (System.nanoTime() - start) * 1e-6;
+
+        AprilTagDetection found = null;
+        int label = -1;
+        for (int i = 0; i < detections.size() && found == null; i++) {
+            AprilTagDetection detection = detections.get(i);
+            for (int j = 0; j < ids.length; j++) {
+                if (ids[j] == detection.id) {
+                    found = detection;
+                    label = j;
+                    break;
+                }
+            }
+        }
+
+        if (found != null) {
+            track(found, searchRoi ? builtRect.x : 0, searchRoi ? builtRect.y : 0);
+        } else if (tracking) {
+            tracking = false;
+            level = 0;
+        } else {
+            level = (level + 1) % DECIMATIONS.length;
+        }
+        channel.publish(new Result(
+                label < 0 ? null : labels[label],
+                found == null ? -1 : found.id,
+                detectMs,
+                decimation,
+                searchRoi));
+
+        if (tracking) Imgproc.rectangle(input, roiRect, ROI_COLOR, 2);
+        return input;
+    }
+
+    /**
+     * Center the search region on a tag.
+     *
+     * @param detection The tag, in the coordinates of the searched image
+     * @param offsetX X of the searched image in the frame
+     * @param offsetY Y of the searched image in the frame
+     */
+    private void track(AprilTagDetection detection, int offsetX, int offsetY) {
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        for (Point corner : detection.corners) {
+            minX = Math.min(minX, corner.x);
+            minY = Math.min(minY, corner.y);
+            maxX = Math.max(maxX, corner.x);
+            maxY = Math.max(maxY, corner.y);
+        }
+        double padX = (maxX - minX) * ROI_PADDING;
+        double padY = (maxY - minY) * ROI_PADDING;
+        int left = Math.max(0, (int) (offsetX + minX - padX));
+        int top = Math.max(0, (int) (offsetY + minY - padY));
+        int right = Math.min(grey.cols(), (int) Math.ceil(offsetX + maxX + padX));
+        int bottom = Math.min(grey.rows(), (int) Math.ceil(offsetY + maxY + padY));
+        if (right - left < 16 || bottom - top < 16) {
+            tracking = false;
+            return;
+        }
+        roiRect.x = left;
+        roiRect.y = top;
+        roiRect.width = right - left;
+        roiRect.height = bottom - top;
+        tracking = true;
+    }
+
+    /**
+     * @return A continuous copy of the region of the grey frame to search. The submat it is
+     * copied from is rebuilt only when the region has moved or the frame was reallocated.
+     */
+    private Mat trackedRegion() {
+        if (roi == null
+                || grey.dataAddr() != roiAddress
+                || Math.abs(roiRect.x - builtRect.x) > ROI_SLACK
+                || Math.abs(roiRect.y - builtRect.y) > ROI_SLACK
+                || Math.abs(roiRect.width - builtRect.width) > ROI_SLACK
+                || Math.abs(roiRect.height - builtRect.height) > ROI_SLACK) {
+            if (roi != null) roi.release();
+            builtRect.x = roiRect.x;
+            builtRect.y = roiRect.y;
+            builtRect.width = roiRect.width;
+            builtRect.height = roiRect.height;
+            roi = grey.submat(builtRect);
+            roiAddress = grey.dataAddr();
+        }
+        roi.copyTo(roiBuffer);
+        return roiBuffer;
+    }
+
+    /**
+     * Free the native detector. Call after the camera has stopped streaming.
+     */
+    public synchronized void release() {
+        if (detector == 0) return;
+        AprilTagDetectorJNI.releaseApriltagDetector(detector);
+        detector = 0;
+    }
+}
@@ -0,0 +1,47 @@
+package org.firstinspires.ftc.teamcode.auton;
+
+import org.firstinspires.ftc.teamcode.command.Command;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The autonomous routine for every sleeve label, built during init.
+ *
+ * <p>Each branch is a finished command graph whose profiles are already computed, so {@link
+ * #select(String)} at START is a single table lookup. The table cannot change once built.
+ */
+public final class AutonPlan {
+    private final Map<String, Command> branches;
+    private final Command fallback;
+
+    /**
+     * @param branches The routine for each label
+     * @param fallbackLabel The label whose routine runs for an unknown or missing label
+     */
+    public AutonPlan(Map<String, Command> branches, String fallbackLabel) {
+        Command fallback = branches.get(fallbackLabel);
+        if (fallback == null) {
+            throw new IllegalArgumentException("No branch for fallback " + fallbackLabel);
+        }
+        this.branches = Collections.unmodifiableMap(new HashMap<>(branches));
+        this.fallback = fallback;
+    }
+
+    /**
+     * @param label The detected label, or null
+     * @return The routine for the label, or the fallback routine
+     */
+    public Command select(String label) {
+        Command branch = label == null ? null : branches.get(label);
+        return branch != null ? branch : fallback;
+    }
+
+    /**
+     * @return The routine for each label
+     */
+    public Map<String, Command> getBranches() {
+        return branches;
+    }
+}
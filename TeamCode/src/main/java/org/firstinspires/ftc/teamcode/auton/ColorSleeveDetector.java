@@ -0,0 +1,97 @@
+package org.firstinspires.ftc.teamcode.auton;
+
+import android.util.Log;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.robotcore.external.hardware.camera.WebcamName;
+import org.openftc.easyopencv.OpenCvCamera;
+import org.openftc.easyopencv.OpenCvCameraFactory;
+import org.openftc.easyopencv.OpenCvCameraRotation;
+import org.openftc.easyopencv.OpenCvWebcam;
+
+/**
+ * Reads the sleeve color from a webcam with {@link SleeveColorPipeline}. Needs neither Vuforia
+ * nor a model, so it is ready as soon as the camera opens.
+ */
+public final class ColorSleeveDetector implements SleeveDetector {
+    private static final String TAG = "ColorSleeveDetector";
+
+    /**
+     * Name of the webcam in the hardware map
+     */
+    public static final String CAMERA_NAME = "Webcam 1";
+    /**
+     * Stream size. The ROI only needs a few thousand pixels, so a small stream is enough.
+     */
+    public static final int STREAM_WIDTH = 320;
+    public static final int STREAM_HEIGHT = 240;
+
+    private final VisionChannel<SleeveColorClassifier.Result> channel = new VisionChannel<>();
+    private final OpenCvWebcam webcam;
+    private volatile String error;
+
+    /**
+     * Create the webcam and start opening it in the background.
+     *
+     * @param map The hardware map
+     */
+    public ColorSleeveDetector(HardwareMap map) {
+        int cameraMonitorViewId = map.appContext.getResources().getIdentifier(
+                "cameraMonitorViewId", "id", map.appContext.getPackageName());
+        webcam = OpenCvCameraFactory.getInstance().createWebcam(
+                map.get(WebcamName.class, CAMERA_NAME), cameraMonitorViewId);
+        webcam.setPipeline(new SleeveColorPipeline(new SleeveColorClassifier(), channel));
+        webcam.openCameraDeviceAsync(new OpenCvCamera.AsyncCameraOpenListener() {
+            @Override
+            public void onOpened() {
+                webcam.startStreaming(STREAM_WIDTH, STREAM_HEIGHT, OpenCvCameraRotation.UPRIGHT);
+            }
+
+            @Override
+            public void onError(int errorCode) {
+                // No frames will come; the voter times out to its fallback
+                error = "Camera failed to open (error " + errorCode + ")";
+                Log.e(TAG, error);
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public boolean poll(SleeveVoter voter) {
+        VisionChannel.Frame<SleeveColorClassifier.Result> frame = channel.poll();
+        if (frame == null) return false;
+        SleeveColorClassifier.Result result = frame.getValue();
+        voter.addFrame(result.getLabel(), result.getConfidence());
+        return true;
+    }
+
+    @Override
+    public VisionChannel<SleeveColorClassifier.Result> getChannel() {
+        return channel;
+    }
+
+    @Override
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public double getLastFrameMs() {
+        return Double.NaN;
+    }
+
+    @Override
+    public String getStatus() {
+        return null;
+    }
+
+    @Override
+    public void stop() {
+        webcam.closeCameraDeviceAsync(() -> { });
+    }
+}
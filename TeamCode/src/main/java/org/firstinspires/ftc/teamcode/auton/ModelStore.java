@@ -0,0 +1,263 @@
+package org.firstinspires.ftc.teamcode.auton;
+
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+import android.util.Log;
+
+import org.firstinspires.ftc.robotcore.internal.system.AppUtil;
+import org.tensorflow.lite.Interpreter;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Process-wide cache of memory-mapped TFLite models.
+ *
+ * <p>A model is mapped from {@link #MODEL_DIR} if the file is there, else from the APK assets,
+ * which works because TeamCode stores {@code .tflite} assets uncompressed. The mapping is checked
+ * against a CRC32 in a {@value #CHECKSUM_SUFFIX} file next to the model, if there is one. Models,
+ * and interpreters built on them, stay loaded for the life of the app, so running an op mode
+ * again does not load the model again. A model file that changes on storage is mapped again.
+ */
+public final class ModelStore {
+    private static final String TAG = "ModelStore";
+
+    /**
+     * Folder searched for models before the assets
+     */
+    public static final File MODEL_DIR = new File(AppUtil.FIRST_FOLDER, "tflitemodels");
+    /**
+     * Suffix of the file holding a model's expected CRC32, in hex
+     */
+    public static final String CHECKSUM_SUFFIX = ".crc32";
+
+    /**
+     * A mapped model.
+     */
+    public static final class Model {
+        private final String name;
+        private final MappedByteBuffer buffer;
+        private final File file;
+        private final long fileLength;
+        private final long fileModified;
+        private final long checksum;
+        private final boolean verified;
+        private final long loadNanos;
+        private volatile int hits;
+        private Interpreter interpreter;
+
+        Model(String name, MappedByteBuffer buffer, File file, long checksum, boolean verified,
+              long loadNanos) {
+            this.name = name;
+            this.buffer = buffer;
+            this.file = file;
+            this.fileLength = file == null ? 0 : file.length();
+            this.fileModified = file == null ? 0 : file.lastModified();
+            this.checksum = checksum;
+            this.verified = verified;
+            this.loadNanos = loadNanos;
+        }
+
+        boolean isCurrent(File candidate) {
+            if (file == null) return !candidate.isFile();
+            return candidate.isFile()
+                    && candidate.length() == fileLength
+                    && candidate.lastModified() == fileModified;
+        }
+
+        /**
+         * @return The model name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return A read-only view of the model bytes
+         */
+        public ByteBuffer getBuffer() {
+            return buffer.asReadOnlyBuffer();
+        }
+
+        /**
+         * @return The model file on storage, or null if it was mapped from the assets
+         */
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * @return The CRC32 of the model bytes
+         */
+        public long getChecksum() {
+            return checksum;
+        }
+
+        /**
+         * @return True if the checksum matched an expected one, false if there was none
+         */
+        public boolean isVerified() {
+            return verified;
+        }
+
+        /**
+         * @return Time spent mapping and checking the model when it was first loaded, in
+         * nanoseconds
+         */
+        public long getLoadNanos() {
+            return loadNanos;
+        }
+
+        /**
+         * @return Loads served from the cache
+         */
+        public int getHits() {
+            return hits;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s from %s, %.1f MB, crc %08x%s, %.0f ms, %s",
+                    name, file == null ? "assets" : file.getPath(), buffer.capacity() / 1e6,
+                    checksum, verified ? " ok" : "", loadNanos * 1e-6,
+                    hits == 0 ? "cold" : "warm x" + hits);
+        }
+    }
+
+    private static final Map<String, Model> MODELS = new HashMap<>();
+
+    private ModelStore() {
+    }
+
+    /**
+     * Get a model, mapping and checking it on first use.
+     *
+     * @param assets The app assets
+     * @param name The model file name
+     * @return The model
+     * @throws IOException If the model cannot be mapped or its checksum does not match
+     */
+    public static synchronized Model load(AssetManager assets, String name) throws IOException {
+        File file = new File(MODEL_DIR, name);
+        Model model = MODELS.get(name);
+        if (model != null && model.isCurrent(file)) {
+            model.hits++;
+            return model;
+        }
+        if (model != null) {
+            MODELS.remove(name);
+            release(model);
+        }
+
+        long start = System.nanoTime();
+        MappedByteBuffer buffer = file.isFile() ? map(file) : map(assets, name);
+        long checksum = checksum(buffer);
+        Long expected = file.isFile()
+                ? expectedChecksum(new File(MODEL_DIR, name + CHECKSUM_SUFFIX))
+                : expectedChecksum(assets, name + CHECKSUM_SUFFIX);
+        if (expected != null && expected != checksum) {
+            throw new IOException(String.format(Locale.US,
+                    "Checksum of %s is %08x, expected %08x", name, checksum, expected));
+        }
+        model = new Model(name, buffer, file.isFile() ? file : null, checksum, expected != null,
+                System.nanoTime() - start);
+        MODELS.put(name, model);
+        Log.i(TAG, "Loaded " + model);
+        return model;
+    }
+
+    /**
+     * Get an interpreter for a model, building it on first use. The interpreter is shared, so
+     * only one op mode may run it at a time.
+     *
+     * @param assets The app assets
+     * @param name The model file name
+     * @return The interpreter
+     * @throws IOException If the model cannot be loaded
+     */
+    public static synchronized Interpreter interpreter(AssetManager assets, String name)
+            throws IOException {
+        Model model = load(assets, name);
+        if (model.interpreter == null) model.interpreter = new Interpreter(model.buffer);
+        return model.interpreter;
+    }
+
+    private static void release(Model model) {
+        if (model.interpreter != null) model.interpreter.close();
+        model.interpreter = null;
+    }
+
+    private static MappedByteBuffer map(File file) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            return in.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, in.length());
+        }
+    }
+
+    private static MappedByteBuffer map(AssetManager assets, String name) throws IOException {
+        // Fails for compressed assets, which cannot be mapped
+        try (AssetFileDescriptor fd = assets.openFd(name);
+             FileInputStream in = fd.createInputStream()) {
+            return in.getChannel().map(
+                    FileChannel.MapMode.READ_ONLY, fd.getStartOffset(), fd.getDeclaredLength());
+        }
+    }
+
+    /**
+     * CRC32 of the whole buffer. Reading it also pulls every page in, so the first inference
+     * does not fault them in.
+     */
+    private static long checksum(ByteBuffer buffer) {
+        ByteBuffer view = buffer.duplicate();
+        view.clear();
+        byte[] chunk = new byte[1 << 16];
+        CRC32 crc = new CRC32();
+        while (view.hasRemaining()) {
+            int n = Math.min(chunk.length, view.remaining());
+            view.get(chunk, 0, n);
+            crc.update(chunk, 0, n);
+        }
+        return crc.getValue();
+    }
+
+    private static Long expectedChecksum(File file) throws IOException {
+        if (!file.isFile()) return null;
+        return parseChecksum(new FileReader(file));
+    }
+
+    private static Long expectedChecksum(AssetManager assets, String name) throws IOException {
+        InputStream in;
+        try {
+            in = assets.open(name);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+        return parseChecksum(new InputStreamReader(in, "US-ASCII"));
+    }
+
+    private static Long parseChecksum(Reader reader) throws IOException {
+        try (BufferedReader in = new BufferedReader(reader)) {
+            String line = in.readLine();
+            if (line == null) throw new IOException("Empty checksum file");
+            try {
+                return Long.parseLong(line.trim(), 16);
+            } catch (NumberFormatException e) {
+                throw new IOException("Bad checksum " + line.trim());
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package org.firstinspires.ftc.teamcode.auton;
+
+/**
+ * Classifies the signal sleeve by which HSV color range covers most of a region of interest.
+ *
+ * <p>Hue, saturation and value use OpenCV's 8-bit scale: hue in [0, 180), saturation and value
+ * in [0, 255]. {@link SleeveColorPipeline} counts matching pixels with OpenCV on the robot; {@link
+ * #classify(int[], int, int)} does the same in plain Java on ARGB pixels, so stored frames can be
+ * classified on any JVM.
+ */
+public final class SleeveColorClassifier {
+    /**
+     * A label and the HSV box its sleeve color falls in. A hue range with {@code hueMin >
+     * hueMax} wraps around 180, for reds.
+     */
+    public static final class ColorRange {
+        final String label;
+        final int hueMin;
+        final int hueMax;
+        final int saturationMin;
+        final int valueMin;
+
+        public ColorRange(String label, int hueMin, int hueMax, int saturationMin, int valueMin) {
+            this.label = label;
+            this.hueMin = hueMin;
+            this.hueMax = hueMax;
+            this.saturationMin = saturationMin;
+            this.valueMin = valueMin;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        boolean wraps() {
+            return hueMin > hueMax;
+        }
+
+        boolean matches(int hue, int saturation, int value) {
+            if (saturation < saturationMin || value < valueMin) return false;
+            return wraps() ? hue >= hueMin || hue <= hueMax : hue >= hueMin && hue <= hueMax;
+        }
+    }
+
+    /**
+     * The outcome of one frame.
+     */
+    public static final class Result {
+        private final String label;
+        private final double fraction;
+        private final double confidence;
+
+        Result(String label, double fraction, double confidence) {
+            this.label = label;
+            this.fraction = fraction;
+            this.confidence = confidence;
+        }
+
+        /**
+         * @return The winning label, or null if no color covered enough of the ROI
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * @return The fraction of the ROI covered by the winning color
+         */
+        public double getFraction() {
+            return fraction;
+        }
+
+        /**
+         * @return The share of all matching pixels that match the winning color
+         */
+        public double getConfidence() {
+            return confidence;
+        }
+    }
+
+    /**
+     * Sleeve colors for the three {@link org.firstinspires.ftc.teamcode.Auton} labels: yellow,
+     * cyan and magenta faces. Retune against frames of the actual sleeve.
+     */
+    public static final ColorRange[] DEFAULT_RANGES = {
+            new ColorRange("1 Dragon", 20, 35, 100, 80),
+            new ColorRange("2 Robot", 85, 100, 100, 80),
+            new ColorRange("3 Console", 140, 170, 100, 80),
+    };
+    /**
+     * Default fraction of the ROI a color must cover to count
+     */
+    public static final double DEFAULT_MIN_FRACTION = 0.1;
+
+    private final ColorRange[] ranges;
+    private final double minFraction;
+    private final double roiLeft;
+    private final double roiTop;
+    private final double roiRight;
+    private final double roiBottom;
+    private final int[] counts;
+    private final int[] roi = new int[4];
+
+    /**
+     * Classify with the default colors over the middle third of the frame.
+     */
+    public SleeveColorClassifier() {
+        this(DEFAULT_RANGES, DEFAULT_MIN_FRACTION, 1 / 3.0, 1 / 3.0, 2 / 3.0, 2 / 3.0);
+    }
+
+    /**
+     * @param ranges The colors to look for
+     * @param minFraction The fraction of the ROI a color must cover to count
+     * @param roiLeft Left edge of the ROI, as a fraction of the frame width
+     * @param roiTop Top edge of the ROI, as a fraction of the frame height
+     * @param roiRight Right edge of the ROI, as a fraction of the frame width
+     * @param roiBottom Bottom edge of the ROI, as a fraction of the frame height
+     */
+    public SleeveColorClassifier(
+            ColorRange[] ranges,
+            double minFraction,
+            double roiLeft,
+            double roiTop,
+            double roiRight,
+            double roiBottom) {
+        if (!(0 <= roiLeft && roiLeft < roiRight && roiRight <= 1)
+                || !(0 <= roiTop && roiTop < roiBottom && roiBottom <= 1)) {
+            throw new IllegalArgumentException("ROI must be a non-empty part of the frame");
+        }
+        this.ranges = ranges.clone();
+        this.minFraction = minFraction;
+        this.roiLeft = roiLeft;
+        this.roiTop = roiTop;
+        this.roiRight = roiRight;
+        this.roiBottom = roiBottom;
+        this.counts = new int[ranges.length];
+    }
+
+    /**
+     * Compute the ROI in pixels for a frame size.
+     *
+     * @param width The frame width
+     * @param height The frame height
+     * @param out Output x, y, width and height
+     */
+    public void roi(int width, int height, int[] out) {
+        int left = (int) (roiLeft * width);
+        int top = (int) (roiTop * height);
+        out[0] = left;
+        out[1] = top;
+        out[2] = Math.max(1, (int) (roiRight * width) - left);
+        out[3] = Math.max(1, (int) (roiBottom * height) - top);
+    }
+
+    ColorRange[] getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Classify a frame in plain Java. Not thread safe; use one classifier per thread.
+     *
+     * @param argb Pixels in row-major order, packed as ARGB
+     * @param width The frame width
+     * @param height The frame height
+     * @return The result for the frame
+     */
+    public Result classify(int[] argb, int width, int height) {
+        roi(width, height, roi);
+        for (int i = 0; i < counts.length; i++) counts[i] = 0;
+        for (int y = roi[1]; y < roi[1] + roi[3]; y++) {
+            for (int x = roi[0]; x < roi[0] + roi[2]; x++) {
+                int pixel = argb[y * width + x];
+                int r = (pixel >> 16) & 0xff;
+                int g = (pixel >> 8) & 0xff;
+                int b = pixel & 0xff;
+                int max = Math.max(r, Math.max(g, b));
+                int min = Math.min(r, Math.min(g, b));
+                int saturation = max == 0 ? 0 : (255 * (max - min) + max / 2) / max;
+                int hue = hue(r, g, b, max, max - min);
+                for (int i = 0; i < ranges.length; i++) {
+                    if (ranges[i].matches(hue, saturation, max)) counts[i]++;
+                }
+            }
+        }
+        return fromCounts(counts, roi[2] * roi[3]);
+    }
+
+    /**
+     * OpenCV's 8-bit hue, in [0, 180).
+     */
+    private static int hue(int r, int g, int b, int max, int delta) {
+        if (delta == 0) return 0;
+        double h;
+        if (max == r) h = 60.0 * (g - b) / delta;
+        else if (max == g) h = 120.0 + 60.0 * (b - r) / delta;
+        else h = 240.0 + 60.0 * (r - g) / delta;
+        if (h < 0) h += 360;
+        return (int) Math.round(h / 2) % 180;
+    }
+
+    /**
+     * Pick the winner from per-range pixel counts.
+     *
+     * @param counts Matching pixels, in the order of the ranges
+     * @param total Pixels in the ROI
+     * @return The result for the frame
+     */
+    Result fromCounts(int[] counts, int total) {
+        int best = 0;
+        long matched = counts[0];
+        for (int i = 1; i < counts.length; i++) {
+            if (counts[i] > counts[best]) best = i;
+            matched += counts[i];
+        }
+        double fraction = total == 0 ? 0 : (double) counts[best] / total;
+        double confidence = matched == 0 ? 0 : (double) counts[best] / matched;
+        String label = fraction >= minFraction ? ranges[best].label : null;
+        return new Result(label, fraction, confidence);
+    }
+}
@@ -0,0 +1,90 @@
+package org.firstinspires.ftc.teamcode.auton;
+
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.core.Rect;
+import org.opencv.core.Scalar;
+import org.opencv.imgproc.Imgproc;
+import org.openftc.easyopencv.OpenCvPipeline;
+
+/**
+ * EasyOpenCV pipeline that classifies the signal sleeve with {@link SleeveColorClassifier} and
+ * publishes each result to a {@link VisionChannel}.
+ *
+ * <p>Only the ROI is converted to HSV, and every intermediate {@link Mat} and {@link Scalar} is
+ * allocated once and reused, so steady-state frames do not allocate native memory. The ROI
+ * submat is only rebuilt when the camera hands over a different frame buffer.
+ */
+public final class SleeveColorPipeline extends OpenCvPipeline {
+    private static final Scalar ROI_COLOR = new Scalar(0, 255, 0, 255);
+
+    private final SleeveColorClassifier classifier;
+    private final VisionChannel<SleeveColorClassifier.Result> channel;
+    private final SleeveColorClassifier.ColorRange[] ranges;
+    private final Scalar[] lower;
+    private final Scalar[] upper;
+    private final Scalar[] wrapLower;
+    private final Scalar[] wrapUpper;
+    private final int[] counts;
+    private final int[] roiPixels = new int[4];
+    private final Rect roiRect = new Rect();
+    private final Mat rgb = new Mat();
+    private final Mat hsv = new Mat();
+    private final Mat mask = new Mat();
+    private Mat roi;
+    private long roiAddress;
+
+    public SleeveColorPipeline(
+            SleeveColorClassifier classifier, VisionChannel<SleeveColorClassifier.Result> channel) {
+        this.classifier = classifier;
+        this.channel = channel;
+        this.ranges = classifier.getRanges();
+        int n = ranges.length;
+        lower = new Scalar[n];
+        upper = new Scalar[n];
+        wrapLower = new Scalar[n];
+        wrapUpper = new Scalar[n];
+        counts = new int[n];
+        for (int i = 0; i < n; i++) {
+            SleeveColorClassifier.ColorRange range = ranges[i];
+            if (range.wraps()) {
+                lower[i] = new Scalar(range.hueMin, range.saturationMin, range.valueMin);
+                upper[i] = new Scalar(179, 255, 255);
+                wrapLower[i] = new Scalar(0, range.saturationMin, range.valueMin);
+                wrapUpper[i] = new Scalar(range.hueMax, 255, 255);
+            } else {
+                lower[i] = new Scalar(range.hueMin, range.saturationMin, range.valueMin);
+                upper[i] = new Scalar(range.hueMax, 255, 255);
+            }
+        }
+    }
+
+    @Override
+    public Mat processFrame(Mat input) {
+        if (roi == null || input.dataAddr() != roiAddress) {
+            if (roi != null) roi.release();
+            classifier.roi(input.cols(), input.rows(), roiPixels);
+            roiRect.x = roiPixels[0];
+            roiRect.y = roiPixels[1];
+            roiRect.width = roiPixels[2];
+            roiRect.height = roiPixels[3];
+            roi = input.submat(roiRect);
+            roiAddress = input.dataAddr();
+        }
+
+        Imgproc.cvtColor(roi, rgb, Imgproc.COLOR_RGBA2RGB);
+        Imgproc.cvtColor(rgb, hsv, Imgproc.COLOR_RGB2HSV);
+        for (int i = 0; i < ranges.length; i++) {
+            Core.inRange(hsv, lower[i], upper[i], mask);
+            counts[i] = Core.countNonZero(mask);
+            if (wrapLower[i] != null) {
+                Core.inRange(hsv, wrapLower[i], wrapUpper[i], mask);
+                counts[i] += Core.countNonZero(mask);
+            }
+        }
+        channel.publish(classifier.fromCounts(counts, roiRect.width * roiRect.height));
+
+        Imgproc.rectangle(input, roiRect, ROI_COLOR, 2);
+        return input;
+    }
+}
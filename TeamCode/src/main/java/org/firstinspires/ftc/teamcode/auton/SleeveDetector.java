@@ -0,0 +1,49 @@
+package org.firstinspires.ftc.teamcode.auton;
+
+/**
+ * A source of signal sleeve readings that {@link org.firstinspires.ftc.teamcode.Auton} can
+ * choose between. Detectors run on their own thread and hand frames over through a {@link
+ * VisionChannel}; the op mode only polls.
+ */
+public interface SleeveDetector {
+    /**
+     * Start producing frames. Called once, after init.
+     */
+    void start();
+
+    /**
+     * Feed the newest unseen frame, if any, to the voter. Never blocks.
+     *
+     * @param voter The voter to add the frame to
+     * @return True if a frame was added
+     */
+    boolean poll(SleeveVoter voter);
+
+    /**
+     * @return The channel frames are handed over through, for latency statistics
+     */
+    VisionChannel<?> getChannel();
+
+    /**
+     * @return Why the detector cannot produce frames, such as a camera that failed to open, or
+     * null if it can
+     */
+    String getError();
+
+    /**
+     * @return Time the detector spent on the last polled frame, in milliseconds, or NaN if it
+     * does not measure it
+     */
+    double getLastFrameMs();
+
+    /**
+     * @return Detector-specific state of the last polled frame, for telemetry and logs, or null
+     * if there is none
+     */
+    String getStatus();
+
+    /**
+     * Stop producing frames and release the camera or model.
+     */
+    void stop();
+}
@@ -0,0 +1,270 @@
+package org.firstinspires.ftc.teamcode.auton;
+
+import org.firstinspires.ftc.robotcore.external.tfod.Recognition;
+import org.firstinspires.ftc.teamcode.components.ActionScheduler;
+
+import java.util.List;
+
+/**
+ * Decides the signal sleeve label from a stream of frames instead of a single one.
+ *
+ * <p>Each frame contributes, per label, the highest confidence it saw for that label. Scores are
+ * summed over a sliding window of the latest frames. Once at least {@code minFrames} frames are
+ * in and the leading label beats the runner-up by {@code margin}, that label is decided; a clear
+ * sleeve is therefore decided after a few frames, and one noisy frame cannot outvote the rest. If
+ * no label is clear by the timeout, the current leader is taken, or the fallback label if nothing
+ * was seen at all. Adding a frame does not allocate.
+ *
+ * <p>While {@link #setRolling(boolean) rolling}, nothing is latched: the decision follows the
+ * window, so it can be shown live during init and still track a sleeve that is changed.
+ */
+public final class SleeveVoter {
+    /**
+     * Default number of frames in the window
+     */
+    public static final int DEFAULT_WINDOW = 10;
+    /**
+     * Default number of frames needed before deciding early
+     */
+    public static final int DEFAULT_MIN_FRAMES = 3;
+    /**
+     * Default lead over the runner-up, in summed confidence
+     */
+    public static final double DEFAULT_MARGIN = 1.5;
+    /**
+     * Default time to wait for a clear decision, in milliseconds
+     */
+    public static final long DEFAULT_TIMEOUT_MS = 3000;
+
+    private final String[] labels;
+    private final String fallback;
+    private final int minFrames;
+    private final double margin;
+    private final long timeoutNanos;
+    private final ActionScheduler.Clock clock;
+    private final double[][] window;
+    private final double[] scores;
+    private int frames;
+    private int next;
+    private long started = Long.MIN_VALUE;
+    private String decision;
+    private boolean timedOut;
+    private boolean rolling;
+
+    /**
+     * Create a voter with the default window, margin and timeout.
+     *
+     * @param labels The labels to vote on
+     * @param fallback The label to take if nothing is seen before the timeout
+     */
+    public SleeveVoter(String[] labels, String fallback) {
+        this(labels, fallback, DEFAULT_WINDOW, DEFAULT_MIN_FRAMES, DEFAULT_MARGIN,
+                DEFAULT_TIMEOUT_MS, ActionScheduler.Clock.SYSTEM);
+    }
+
+    /**
+     * @param labels The labels to vote on
+     * @param fallback The label to take if nothing is seen before the timeout
+     * @param window The number of latest frames to sum over
+     * @param minFrames The number of frames needed before deciding early
+     * @param margin The lead over the runner-up needed to decide early, in summed confidence
+     * @param timeoutMs The time from {@link #start()} to the forced decision, in milliseconds
+     * @param clock The clock for the timeout
+     */
+    public SleeveVoter(
+            String[] labels,
+            String fallback,
+            int window,
+            int minFrames,
+            double margin,
+            long timeoutMs,
+            ActionScheduler.Clock clock) {
+        if (window <= 0) throw new IllegalArgumentException("Window must be > 0");
+        if (minFrames <= 0 || minFrames > window) {
+            throw new IllegalArgumentException("Min frames must be in [1, window]");
+        }
+        this.labels = labels.clone();
+        this.fallback = fallback;
+        this.minFrames = minFrames;
+        this.margin = margin;
+        this.timeoutNanos = timeoutMs * 1_000_000L;
+        this.clock = clock;
+        this.window = new double[window][labels.length];
+        this.scores = new double[labels.length];
+    }
+
+    /**
+     * Start the timeout. Called by the first {@link #addFrame(List)} or {@link #update()} if not
+     * called explicitly.
+     */
+    public void start() {
+        if (started == Long.MIN_VALUE) started = clock.nanoTime();
+    }
+
+    /**
+     * Add the recognitions of one frame. An empty frame still counts and pushes older votes out of
+     * the window. Ignored once decided.
+     *
+     * @param recognitions The recognitions in the frame
+     * @return True if a label is decided
+     */
+    public boolean addFrame(List<Recognition> recognitions) {
+        start();
+        if (decision != null && !rolling) return true;
+        double[] frame = beginFrame();
+        for (int r = 0; r < recognitions.size(); r++) {
+            Recognition recognition = recognitions.get(r);
+            int label = indexOf(recognition.getLabel());
+            if (label >= 0) frame[label] = Math.max(frame[label], recognition.getConfidence());
+        }
+        return endFrame(frame);
+    }
+
+    /**
+     * Add a frame from a detector that reports at most one label per frame.
+     *
+     * @param label The label seen, or null for an empty frame
+     * @param confidence The confidence in the label, in [0, 1]
+     * @return True if a label is decided
+     */
+    public boolean addFrame(String label, double confidence) {
+        start();
+        if (decision != null && !rolling) return true;
+        double[] frame = beginFrame();
+        int index = label == null ? -1 : indexOf(label);
+        if (index >= 0) frame[index] = confidence;
+        return endFrame(frame);
+    }
+
+    private double[] beginFrame() {
+        double[] frame = window[next];
+        for (int i = 0; i < labels.length; i++) {
+            scores[i] -= frame[i];
+            frame[i] = 0;
+        }
+        return frame;
+    }
+
+    private boolean endFrame(double[] frame) {
+        for (int i = 0; i < labels.length; i++) scores[i] += frame[i];
+        next = (next + 1) % window.length;
+        if (frames < window.length) frames++;
+
+        if (rolling) decision = null;
+        if (frames >= minFrames) {
+            int leader = leader();
+            if (scores[leader] - runnerUp(leader) >= margin) decision = labels[leader];
+        }
+        return update();
+    }
+
+    /**
+     * Force a decision if the timeout has passed. Call every loop even when no frame arrived.
+     *
+     * @return True if a label is decided
+     */
+    public boolean update() {
+        start();
+        if (decision != null) return true;
+        if (rolling) return false;
+        if (clock.nanoTime() - started < timeoutNanos) return false;
+        int leader = leader();
+        decision = scores[leader] > 0 ? labels[leader] : fallback;
+        timedOut = true;
+        return true;
+    }
+
+    /**
+     * Switch rolling on or off. Switching it off restarts the timeout, and a clear decision at
+     * that point is kept.
+     *
+     * @param rolling True to keep following the window instead of latching a decision
+     */
+    public void setRolling(boolean rolling) {
+        this.rolling = rolling;
+        if (!rolling) started = clock.nanoTime();
+    }
+
+    /**
+     * Decide now: the clear decision if there is one, else the current leader, else the fallback.
+     * Stops rolling.
+     *
+     * @return The decided label
+     */
+    public String decide() {
+        rolling = false;
+        if (decision == null) {
+            String leader = getLeader();
+            decision = leader != null ? leader : fallback;
+        }
+        return decision;
+    }
+
+    private int indexOf(String label) {
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equals(label)) return i;
+        }
+        return -1;
+    }
+
+    private int leader() {
+        int leader = 0;
+        for (int i = 1; i < labels.length; i++) {
+            if (scores[i] > scores[leader]) leader = i;
+        }
+        return leader;
+    }
+
+    private double runnerUp(int leader) {
+        double best = 0;
+        for (int i = 0; i < labels.length; i++) {
+            if (i != leader) best = Math.max(best, scores[i]);
+        }
+        return best;
+    }
+
+    /**
+     * @return The decided label, or null if not decided yet
+     */
+    public String getDecision() {
+        return decision;
+    }
+
+    /**
+     * @return True if the decision was forced by the timeout
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * @return The label with the highest score in the window, or null if nothing was seen
+     */
+    public String getLeader() {
+        int leader = leader();
+        return scores[leader] > 0 ? labels[leader] : null;
+    }
+
+    /**
+     * @return The mean confidence of the leading label over the window, in [0, 1]
+     */
+    public double getConfidence() {
+        return frames == 0 ? 0 : scores[leader()] / frames;
+    }
+
+    /**
+     * @return Frames currently in the window
+     */
+    public int getFrames() {
+        return frames;
+    }
+
+    /**
+     * @param label The label
+     * @return The summed confidence of the label over the window, or 0 if it is unknown
+     */
+    public double getScore(String label) {
+        int index = indexOf(label);
+        return index < 0 ? 0 : scores[index];
+    }
+}
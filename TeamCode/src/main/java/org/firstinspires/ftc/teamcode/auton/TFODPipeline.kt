@@ -11,8 +11,6 @@ import org.opencv.imgproc.Imgproc
 import org.openftc.easyopencv.OpenCvPipeline
 import org.openftc.easyopencv.OpenCvWebcam
 import org.tensorflow.lite.Interpreter
-import java.io.FileInputStream
-import java.nio.channels.FileChannel
 import java.util.Arrays
 import java.util.concurrent.TimeUnit
 
@@ -61,19 +59,10 @@ class TFODPipeline constructor(
         val COLOR = Scalar(0.0, 255.0, 0.0)
 
         /**
-         * Model initializer
+         * Model initializer. The interpreter is kept warm by [ModelStore] across op mode runs.
          */
-        fun loadInterpreter(assetManager: AssetManager, path: String): Interpreter {
-            val fileDescriptor = assetManager.openFd(path)
-            val modelBuffer = FileInputStream(fileDescriptor.fileDescriptor).use { inputStream ->
-                val fileChannel = inputStream.channel
-                val startOffset = fileDescriptor.startOffset
-                val declaredLength = fileDescriptor.declaredLength
-                fileChannel.map(FileChannel.MapMode.READ_ONLY, startOffset, declaredLength)
-            }
-            val options = Interpreter.Options()
-            return Interpreter(modelBuffer, options)
-        }
+        fun loadInterpreter(assetManager: AssetManager, path: String): Interpreter =
+            ModelStore.interpreter(assetManager, path)
     }
 
     /**
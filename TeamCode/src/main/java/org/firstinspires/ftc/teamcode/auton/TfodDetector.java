@@ -0,0 +1,64 @@
+package org.firstinspires.ftc.teamcode.auton;
+
+import org.firstinspires.ftc.robotcore.external.tfod.Recognition;
+import org.firstinspires.ftc.robotcore.external.tfod.TFObjectDetector;
+
+import java.util.List;
+
+/**
+ * Reads the sleeve with a TensorFlow object detector.
+ */
+public final class TfodDetector implements SleeveDetector {
+    private final TFObjectDetector tfod;
+    private final VisionChannel<List<Recognition>> channel = new VisionChannel<>();
+    private final TfodPublisher publisher;
+
+    /**
+     * @param tfod An activated detector
+     */
+    public TfodDetector(TFObjectDetector tfod) {
+        this.tfod = tfod;
+        this.publisher = new TfodPublisher(tfod, channel);
+    }
+
+    @Override
+    public void start() {
+        publisher.start();
+    }
+
+    @Override
+    public boolean poll(SleeveVoter voter) {
+        VisionChannel.Frame<List<Recognition>> frame = channel.poll();
+        if (frame == null) return false;
+        voter.addFrame(frame.getValue());
+        return true;
+    }
+
+    @Override
+    public VisionChannel<List<Recognition>> getChannel() {
+        return channel;
+    }
+
+    @Override
+    public String getError() {
+        // A detector that failed to load never gets this far
+        return null;
+    }
+
+    @Override
+    public double getLastFrameMs() {
+        // The SDK does not expose its inference time
+        return Double.NaN;
+    }
+
+    @Override
+    public String getStatus() {
+        return null;
+    }
+
+    @Override
+    public void stop() {
+        publisher.stop();
+        tfod.shutdown();
+    }
+}
@@ -0,0 +1,67 @@
+package org.firstinspires.ftc.teamcode.auton;
+
+import org.firstinspires.ftc.robotcore.external.tfod.Recognition;
+import org.firstinspires.ftc.robotcore.external.tfod.TFObjectDetector;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Polls a {@link TFObjectDetector} on its own thread and publishes every new set of recognitions
+ * to a {@link VisionChannel}, so the control loop never waits on the detector.
+ */
+public final class TfodPublisher implements Runnable {
+    /**
+     * Pause between polls when the detector has nothing new, in milliseconds
+     */
+    public static final long POLL_MS = 5;
+
+    private final TFObjectDetector tfod;
+    private final VisionChannel<List<Recognition>> channel;
+    private Thread thread;
+
+    public TfodPublisher(TFObjectDetector tfod, VisionChannel<List<Recognition>> channel) {
+        this.tfod = tfod;
+        this.channel = channel;
+    }
+
+    /**
+     * Start polling on a daemon thread.
+     */
+    public synchronized void start() {
+        if (thread != null) return;
+        thread = new Thread(this, "TfodPublisher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop polling and wait for the thread to exit.
+     */
+    public synchronized void stop() {
+        if (thread == null) return;
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Recognition> recognitions = tfod.getUpdatedRecognitions();
+            if (recognitions != null) {
+                channel.publish(Collections.unmodifiableList(recognitions));
+                continue;
+            }
+            try {
+                Thread.sleep(POLL_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.firstinspires.ftc.teamcode.auton;
+
+import org.firstinspires.ftc.teamcode.components.ActionScheduler;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands the latest vision result from a detector thread to the control loop.
+ *
+ * <p>One thread publishes, one thread polls. Each result is wrapped in an immutable {@link
+ * Frame} with a sequence number and a timestamp and swapped into a single slot, so a newer
+ * result replaces an older one that was never read (latest wins). Polling is one volatile read;
+ * it never blocks and never allocates, so the control loop keeps its own rate no matter how
+ * slowly frames arrive. Frames replaced before they were read are counted as dropped.
+ *
+ * @param <T> The result type. Results must not be modified after they are published.
+ */
+public final class VisionChannel<T> {
+    /**
+     * A published result.
+     */
+    public static final class Frame<T> {
+        private final T value;
+        private final long sequence;
+        private final long timestampNanos;
+
+        Frame(T value, long sequence, long timestampNanos) {
+            this.value = value;
+            this.sequence = sequence;
+            this.timestampNanos = timestampNanos;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * @return The number of frames published before this one
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * @return When the frame was captured, from the channel clock
+         */
+        public long getTimestampNanos() {
+            return timestampNanos;
+        }
+    }
+
+    private final AtomicReference<Frame<T>> slot = new AtomicReference<>();
+    private final ActionScheduler.Clock clock;
+    private long published;
+    private long consumed = -1;
+    private long dropped;
+    private long lastAgeNanos;
+
+    public VisionChannel() {
+        this(ActionScheduler.Clock.SYSTEM);
+    }
+
+    public VisionChannel(ActionScheduler.Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Publish a result timestamped now. Call from the producer thread only.
+     *
+     * @param value The result
+     */
+    public void publish(T value) {
+        publish(value, clock.nanoTime());
+    }
+
+    /**
+     * Publish a result. Call from the producer thread only.
+     *
+     * @param value The result
+     * @param timestampNanos When the frame was captured, from the channel clock
+     */
+    public void publish(T value, long timestampNanos) {
+        slot.set(new Frame<>(value, published++, timestampNanos));
+    }
+
+    /**
+     * Take the latest frame if it has not been seen yet. Call from the consumer thread only.
+     *
+     * @return The newest unseen frame, or null if nothing new was published
+     */
+    public Frame<T> poll() {
+        Frame<T> frame = slot.get();
+        if (frame == null || frame.sequence == consumed) return null;
+        dropped += frame.sequence - consumed - 1;
+        consumed = frame.sequence;
+        lastAgeNanos = clock.nanoTime() - frame.timestampNanos;
+        return frame;
+    }
+
+    /**
+     * @return The latest frame whether or not it was seen, or null if nothing was published
+     */
+    public Frame<T> peek() {
+        return slot.get();
+    }
+
+    /**
+     * @return Frames replaced before the consumer saw them
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * @return How old the last polled frame was when it was polled, in nanoseconds
+     */
+    public long getLastAgeNanos() {
+        return lastAgeNanos;
+    }
+
+    /**
+     * @return Sequence number of the last polled frame, or -1 if none was polled
+     */
+    public long getLastSequence() {
+        return consumed;
+    }
+}
@@ -0,0 +1,30 @@
+package org.firstinspires.ftc.teamcode.command;
+
+import org.firstinspires.ftc.teamcode.components.Claw;
+
+/**
+ * Opens or closes the claw and waits for the servos to get there.
+ */
+public class ClawCommand extends WaitCommand {
+    /**
+     * Time for the servos to travel, in milliseconds
+     */
+    public static final double SETTLE_MS = 300.0;
+
+    private final Claw claw;
+    private final boolean open;
+
+    public ClawCommand(Claw claw, boolean open) {
+        super(SETTLE_MS);
+        this.claw = claw;
+        this.open = open;
+        addRequirements(claw);
+    }
+
+    @Override
+    public void initialize() {
+        super.initialize();
+        if (open) claw.open();
+        else claw.close();
+    }
+}
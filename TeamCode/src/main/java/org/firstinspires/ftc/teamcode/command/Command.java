@@ -0,0 +1,36 @@
+package org.firstinspires.ftc.teamcode.command;
+
+import java.util.Set;
+
+/**
+ * A unit of robot work advanced cooperatively by {@link CommandScheduler}. None of the
+ * callbacks may block; long-running work is spread over {@link #execute()} calls.
+ */
+public interface Command {
+    /**
+     * Called once when the command is scheduled.
+     */
+    void initialize();
+
+    /**
+     * Called once per loop while the command is running.
+     */
+    void execute();
+
+    /**
+     * @return True once the command is done
+     */
+    boolean isFinished();
+
+    /**
+     * Called once when the command finishes or is interrupted.
+     *
+     * @param interrupted True if the command was cancelled before it finished
+     */
+    void end(boolean interrupted);
+
+    /**
+     * @return The subsystems this command drives. Must not change while it is scheduled.
+     */
+    Set<Subsystem> getRequirements();
+}
@@ -0,0 +1,43 @@
+package org.firstinspires.ftc.teamcode.command;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A {@link Command} with no-op callbacks and a requirement set, to override only what is
+ * needed.
+ */
+public abstract class CommandBase implements Command {
+    private final Set<Subsystem> requirements = new HashSet<>();
+    private final Set<Subsystem> view = Collections.unmodifiableSet(requirements);
+
+    /**
+     * Declare subsystems this command drives. Call from the constructor.
+     */
+    protected final void addRequirements(Subsystem... subsystems) {
+        Collections.addAll(requirements, subsystems);
+    }
+
+    @Override
+    public void initialize() {
+    }
+
+    @Override
+    public void execute() {
+    }
+
+    @Override
+    public boolean isFinished() {
+        return false;
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+    }
+
+    @Override
+    public Set<Subsystem> getRequirements() {
+        return view;
+    }
+}
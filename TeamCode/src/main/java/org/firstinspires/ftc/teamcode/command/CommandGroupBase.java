@@ -0,0 +1,23 @@
+package org.firstinspires.ftc.teamcode.command;
+
+/**
+ * Shared setup for command groups: stores the children in an array and requires the union of
+ * their subsystems. Children of a parallel group must not share subsystems.
+ */
+abstract class CommandGroupBase extends CommandBase {
+    protected final Command[] commands;
+
+    CommandGroupBase(boolean parallel, Command... commands) {
+        if (commands.length == 0) throw new IllegalArgumentException("A group needs at least one command");
+        this.commands = commands.clone();
+        for (Command command : this.commands) {
+            for (Subsystem subsystem : command.getRequirements()) {
+                if (parallel && getRequirements().contains(subsystem)) {
+                    throw new IllegalArgumentException(
+                            "Parallel commands require the same subsystem: " + subsystem);
+                }
+                addRequirements(subsystem);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.firstinspires.ftc.teamcode.command;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runs {@link Command}s cooperatively from a single loop. Call {@link #run()} once per loop
+ * tick; every scheduled command is executed in the order it was scheduled. Scheduling a command
+ * interrupts any running command that requires one of the same subsystems.
+ *
+ * <p>Steady-state ticks do not allocate: running commands are kept in an indexed list and
+ * requirement bookkeeping only happens when a command starts or ends.
+ */
+public final class CommandScheduler {
+    private final ArrayList<Command> running = new ArrayList<>();
+    private final Map<Subsystem, Command> owners = new HashMap<>();
+
+    /**
+     * Start a command, interrupting running commands that share a subsystem with it. Does
+     * nothing if it is already scheduled.
+     *
+     * @param command The command
+     */
+    public void schedule(Command command) {
+        if (running.contains(command)) return;
+        for (Subsystem subsystem : command.getRequirements()) {
+            Command owner = owners.get(subsystem);
+            if (owner != null) cancel(owner);
+        }
+        for (Subsystem subsystem : command.getRequirements()) {
+            owners.put(subsystem, command);
+        }
+        command.initialize();
+        running.add(command);
+    }
+
+    /**
+     * Schedule several commands.
+     */
+    public void schedule(Command... commands) {
+        for (Command command : commands) {
+            schedule(command);
+        }
+    }
+
+    /**
+     * Execute every running command once and retire the ones that finished.
+     *
+     * @return True if any command is still running
+     */
+    public boolean run() {
+        for (int i = 0; i < running.size(); ) {
+            Command command = running.get(i);
+            command.execute();
+            if (command.isFinished()) {
+                running.remove(i);
+                release(command);
+                command.end(false);
+            } else {
+                i++;
+            }
+        }
+        return !running.isEmpty();
+    }
+
+    /**
+     * Interrupt a command if it is running.
+     *
+     * @param command The command
+     */
+    public void cancel(Command command) {
+        if (!running.remove(command)) return;
+        release(command);
+        command.end(true);
+    }
+
+    /**
+     * Interrupt every running command.
+     */
+    public void cancelAll() {
+        while (!running.isEmpty()) {
+            cancel(running.get(running.size() - 1));
+        }
+    }
+
+    /**
+     * @return True if the command is running
+     */
+    public boolean isScheduled(Command command) {
+        return running.contains(command);
+    }
+
+    /**
+     * @return The number of running commands
+     */
+    public int size() {
+        return running.size();
+    }
+
+    private void release(Command command) {
+        for (Subsystem subsystem : command.getRequirements()) {
+            if (owners.get(subsystem) == command) owners.remove(subsystem);
+        }
+    }
+}
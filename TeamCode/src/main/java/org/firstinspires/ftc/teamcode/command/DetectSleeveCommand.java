@@ -0,0 +1,53 @@
+package org.firstinspires.ftc.teamcode.command;
+
+import org.firstinspires.ftc.teamcode.auton.SleeveDetector;
+import org.firstinspires.ftc.teamcode.auton.SleeveVoter;
+
+/**
+ * Feeds frames from a {@link SleeveDetector} to a {@link SleeveVoter} until the voter decides,
+ * either clearly or by its own timeout. Interrupting it decides on the current leader, so a
+ * command that follows can always read {@link SleeveVoter#getDecision()}.
+ *
+ * <p>The detector must already be started; starting and stopping it is left to the op mode,
+ * which usually polls it during init as well.
+ */
+public class DetectSleeveCommand extends CommandBase {
+    private final SleeveDetector detector;
+    private final SleeveVoter voter;
+    private boolean decided;
+
+    public DetectSleeveCommand(SleeveDetector detector, SleeveVoter voter) {
+        this.detector = detector;
+        this.voter = voter;
+    }
+
+    @Override
+    public void initialize() {
+        voter.setRolling(false);
+        decided = voter.update();
+    }
+
+    @Override
+    public void execute() {
+        if (decided) return;
+        detector.poll(voter);
+        decided = voter.update();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return decided;
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        if (voter.getDecision() == null) voter.decide();
+    }
+
+    /**
+     * @return The voter, for its decision
+     */
+    public SleeveVoter getVoter() {
+        return voter;
+    }
+}
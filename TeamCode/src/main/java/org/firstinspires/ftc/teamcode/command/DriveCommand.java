@@ -0,0 +1,48 @@
+package org.firstinspires.ftc.teamcode.command;
+
+import org.firstinspires.ftc.teamcode.components.DriveTrain;
+
+/**
+ * Queues moves on a {@link DriveTrain} when started and advances them until the queue is empty.
+ * Interrupting it stops the drive train.
+ */
+public class DriveCommand extends CommandBase {
+    /**
+     * Moves to queue, e.g. {@code dt -> dt.queueProfiledMove(0, DriveTrain.TILE)}.
+     */
+    public interface Moves {
+        void queue(DriveTrain driveTrain);
+    }
+
+    private final DriveTrain driveTrain;
+    private final Moves moves;
+    private boolean busy;
+
+    public DriveCommand(DriveTrain driveTrain, Moves moves) {
+        this.driveTrain = driveTrain;
+        this.moves = moves;
+        addRequirements(driveTrain);
+    }
+
+    @Override
+    public void initialize() {
+        driveTrain.stop();
+        moves.queue(driveTrain);
+        busy = true;
+    }
+
+    @Override
+    public void execute() {
+        busy = driveTrain.update();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return !busy;
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        driveTrain.stop();
+    }
+}
@@ -0,0 +1,60 @@
+package org.firstinspires.ftc.teamcode.command;
+
+import org.firstinspires.ftc.teamcode.components.DriveTrain;
+import org.firstinspires.ftc.teamcode.components.MecanumLocalizer;
+import org.firstinspires.ftc.teamcode.motion.PurePursuitFollower;
+import org.firstinspires.ftc.teamcode.motion.Trajectory;
+
+/**
+ * Follows a {@link Trajectory} with a {@link PurePursuitFollower}, updating wheel odometry every
+ * tick.
+ *
+ * <p>Each tick localizes from the latest bulk read, writes the new wheel powers and then calls
+ * {@link DriveTrain#update()}, so write statistics count the writes of the tick they belong to.
+ */
+public class FollowTrajectoryCommand extends CommandBase {
+    private final DriveTrain driveTrain;
+    private final MecanumLocalizer localizer;
+    private final PurePursuitFollower follower;
+    private boolean following;
+
+    public FollowTrajectoryCommand(
+            DriveTrain driveTrain, MecanumLocalizer localizer, Trajectory trajectory) {
+        this.driveTrain = driveTrain;
+        this.localizer = localizer;
+        this.follower = new PurePursuitFollower(trajectory);
+        addRequirements(driveTrain);
+    }
+
+    @Override
+    public void initialize() {
+        follower.reset();
+        following = true;
+    }
+
+    @Override
+    public void execute() {
+        localizer.update(driveTrain);
+        following = follower.update(localizer, driveTrain);
+        // Close the write cycle after this tick's writes; the bulk read it takes is the one the
+        // next tick localizes from
+        driveTrain.update();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return !following;
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        driveTrain.stop();
+    }
+
+    /**
+     * @return The follower, for its per-tick cost metrics
+     */
+    public PurePursuitFollower getFollower() {
+        return follower;
+    }
+}
@@ -0,0 +1,23 @@
+package org.firstinspires.ftc.teamcode.command;
+
+/**
+ * Runs an action once and finishes immediately.
+ */
+public class InstantCommand extends CommandBase {
+    private final Runnable action;
+
+    public InstantCommand(Runnable action, Subsystem... requirements) {
+        this.action = action;
+        addRequirements(requirements);
+    }
+
+    @Override
+    public void initialize() {
+        action.run();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package org.firstinspires.ftc.teamcode.command;
+
+import org.firstinspires.ftc.teamcode.components.Lift;
+
+/**
+ * Runs the lift at a power for a duration, then returns it to its holding power.
+ */
+public class LiftCommand extends WaitCommand {
+    private final Lift lift;
+    private final double power;
+
+    public LiftCommand(Lift lift, double power, double ms) {
+        super(ms);
+        this.lift = lift;
+        this.power = power;
+        addRequirements(lift);
+    }
+
+    @Override
+    public void initialize() {
+        super.initialize();
+        lift.setPower(power);
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        lift.hold();
+    }
+}
@@ -0,0 +1,51 @@
+package org.firstinspires.ftc.teamcode.command;
+
+/**
+ * Runs commands at the same time and finishes when all of them have finished.
+ */
+public class ParallelCommandGroup extends CommandGroupBase {
+    protected final boolean[] running;
+
+    public ParallelCommandGroup(Command... commands) {
+        super(true, commands);
+        running = new boolean[this.commands.length];
+    }
+
+    @Override
+    public void initialize() {
+        for (int i = 0; i < commands.length; i++) {
+            commands[i].initialize();
+            running[i] = true;
+        }
+    }
+
+    @Override
+    public void execute() {
+        for (int i = 0; i < commands.length; i++) {
+            if (!running[i]) continue;
+            commands[i].execute();
+            if (commands[i].isFinished()) {
+                commands[i].end(false);
+                running[i] = false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        for (boolean r : running) {
+            if (r) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        for (int i = 0; i < commands.length; i++) {
+            if (running[i]) {
+                commands[i].end(true);
+                running[i] = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.firstinspires.ftc.teamcode.command;
+
+/**
+ * Runs commands at the same time and finishes when the first one, the deadline, finishes,
+ * interrupting any others still running.
+ */
+public class ParallelDeadlineGroup extends ParallelCommandGroup {
+    /**
+     * @param deadline The command that decides when the group ends
+     * @param others Commands that run alongside it
+     */
+    public ParallelDeadlineGroup(Command deadline, Command... others) {
+        super(prepend(deadline, others));
+    }
+
+    private static Command[] prepend(Command first, Command[] rest) {
+        Command[] all = new Command[rest.length + 1];
+        all[0] = first;
+        System.arraycopy(rest, 0, all, 1, rest.length);
+        return all;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return !running[0];
+    }
+}
@@ -0,0 +1,37 @@
+package org.firstinspires.ftc.teamcode.command;
+
+/**
+ * Runs commands at the same time and finishes as soon as any of them finishes, interrupting
+ * the rest.
+ */
+public class ParallelRaceGroup extends ParallelCommandGroup {
+    private boolean done;
+
+    public ParallelRaceGroup(Command... commands) {
+        super(commands);
+    }
+
+    @Override
+    public void initialize() {
+        super.initialize();
+        done = false;
+    }
+
+    @Override
+    public void execute() {
+        for (int i = 0; i < commands.length; i++) {
+            if (!running[i]) continue;
+            commands[i].execute();
+            if (commands[i].isFinished()) {
+                commands[i].end(false);
+                running[i] = false;
+                done = true;
+            }
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        return done;
+    }
+}
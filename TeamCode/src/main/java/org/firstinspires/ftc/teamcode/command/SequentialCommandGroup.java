@@ -0,0 +1,41 @@
+package org.firstinspires.ftc.teamcode.command;
+
+/**
+ * Runs commands one after another. A command that finishes on its first tick lets the next one
+ * start in the same tick.
+ */
+public class SequentialCommandGroup extends CommandGroupBase {
+    private int index;
+
+    public SequentialCommandGroup(Command... commands) {
+        super(false, commands);
+    }
+
+    @Override
+    public void initialize() {
+        index = 0;
+        commands[0].initialize();
+    }
+
+    @Override
+    public void execute() {
+        while (index < commands.length) {
+            Command current = commands[index];
+            current.execute();
+            if (!current.isFinished()) return;
+            current.end(false);
+            index++;
+            if (index < commands.length) commands[index].initialize();
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        return index >= commands.length;
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        if (interrupted && index < commands.length) commands[index].end(true);
+    }
+}
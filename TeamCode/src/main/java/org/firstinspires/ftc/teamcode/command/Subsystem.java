@@ -0,0 +1,8 @@
+package org.firstinspires.ftc.teamcode.command;
+
+/**
+ * A piece of hardware that only one {@link Command} may drive at a time, e.g. the drive train
+ * or the lift. {@link CommandScheduler} uses it to resolve conflicts between commands.
+ */
+public interface Subsystem {
+}
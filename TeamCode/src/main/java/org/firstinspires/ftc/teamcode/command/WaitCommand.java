@@ -0,0 +1,33 @@
+package org.firstinspires.ftc.teamcode.command;
+
+import org.firstinspires.ftc.teamcode.components.ActionScheduler;
+
+/**
+ * Finishes after a duration. Useful as the deadline of a {@link ParallelDeadlineGroup} or as a
+ * timeout in a {@link ParallelRaceGroup}.
+ */
+public class WaitCommand extends CommandBase {
+    private final ActionScheduler.Clock clock;
+    private final long durationNanos;
+    private long deadline;
+
+    public WaitCommand(double ms) {
+        this(ms, ActionScheduler.Clock.SYSTEM);
+    }
+
+    public WaitCommand(double ms, ActionScheduler.Clock clock) {
+        if (ms < 0) throw new IllegalArgumentException("Duration must be >= 0");
+        this.clock = clock;
+        this.durationNanos = (long) (ms * 1_000_000L);
+    }
+
+    @Override
+    public void initialize() {
+        deadline = clock.nanoTime() + durationNanos;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return clock.nanoTime() - deadline >= 0;
+    }
+}
@@ -0,0 +1,24 @@
+package org.firstinspires.ftc.teamcode.command;
+
+/**
+ * Finishes once a condition holds.
+ */
+public class WaitUntilCommand extends CommandBase {
+    /**
+     * A condition checked once per tick.
+     */
+    public interface Condition {
+        boolean getAsBoolean();
+    }
+
+    private final Condition condition;
+
+    public WaitUntilCommand(Condition condition) {
+        this.condition = condition;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return condition.getAsBoolean();
+    }
+}
@@ -0,0 +1,153 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import java.util.ArrayDeque;
+
+/**
+ * A queue of timed actions that is advanced from the control loop instead of blocking it.
+ *
+ * <p>Each step runs an action once when it starts and then holds for a duration. {@link
+ * #update()} is called once per loop tick; it never sleeps or spins, so the rest of the loop
+ * (vision, telemetry, stop checks) keeps running while a step is in progress. A step ends on the
+ * first tick at or after its deadline, so the observed duration is within one tick of the
+ * requested one.
+ */
+public final class ActionScheduler {
+    /**
+     * Source of monotonic time. Injectable so the scheduler can be driven by a fake clock.
+     */
+    public interface Clock {
+        /**
+         * System clock backed by {@link System#nanoTime()}
+         */
+        Clock SYSTEM = System::nanoTime;
+
+        /**
+         * @return The current time in nanoseconds
+         */
+        long nanoTime();
+    }
+
+    /**
+     * Work done on every tick while a step is in progress.
+     */
+    public interface Tick {
+        /**
+         * @param elapsed Seconds since the step started
+         */
+        void run(double elapsed);
+    }
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private static final class Step {
+        final Runnable action;
+        final Tick tick;
+        final long durationNanos;
+
+        Step(Runnable action, Tick tick, long durationNanos) {
+            this.action = action;
+            this.tick = tick;
+            this.durationNanos = durationNanos;
+        }
+    }
+
+    private final Clock clock;
+    private final ArrayDeque<Step> steps = new ArrayDeque<>();
+    private Step current;
+    private long started;
+    private long deadline;
+
+    public ActionScheduler() {
+        this(Clock.SYSTEM);
+    }
+
+    public ActionScheduler(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Enqueue an action and hold for a duration after it runs.
+     *
+     * @param ms The duration in milliseconds
+     * @param action The action to run when the step starts, or null to only hold
+     * @return This scheduler
+     */
+    public ActionScheduler then(double ms, Runnable action) {
+        if (ms < 0) throw new IllegalArgumentException("Duration must be >= 0");
+        steps.addLast(new Step(action, null, (long) (ms * NANOS_PER_MILLI)));
+        return this;
+    }
+
+    /**
+     * Enqueue a step that runs on every tick until its duration has passed.
+     *
+     * @param ms The duration in milliseconds
+     * @param tick The work to do on each tick, starting with the tick the step starts on
+     * @return This scheduler
+     */
+    public ActionScheduler during(double ms, Tick tick) {
+        if (ms < 0) throw new IllegalArgumentException("Duration must be >= 0");
+        steps.addLast(new Step(null, tick, (long) (ms * NANOS_PER_MILLI)));
+        return this;
+    }
+
+    /**
+     * Enqueue an action that completes immediately.
+     *
+     * @param action The action to run
+     * @return This scheduler
+     */
+    public ActionScheduler then(Runnable action) {
+        return then(0.0, action);
+    }
+
+    /**
+     * Enqueue a pause.
+     *
+     * @param ms The duration in milliseconds
+     * @return This scheduler
+     */
+    public ActionScheduler hold(double ms) {
+        return then(ms, null);
+    }
+
+    /**
+     * Advance the queue. Starts every step whose predecessor has expired; zero-length steps are
+     * run back to back within the same tick.
+     *
+     * @return True if a step is still in progress
+     */
+    public boolean update() {
+        long now = clock.nanoTime();
+        while (true) {
+            if (current != null) {
+                if (now - deadline < 0) {
+                    if (current.tick != null) current.tick.run((now - started) * 1e-9);
+                    return true;
+                }
+                current = null;
+            }
+            Step next = steps.pollFirst();
+            if (next == null) return false;
+            current = next;
+            started = now;
+            deadline = now + next.durationNanos;
+            if (next.action != null) next.action.run();
+        }
+    }
+
+    /**
+     * @return True if no step is in progress or pending
+     */
+    public boolean isIdle() {
+        return current == null && steps.isEmpty();
+    }
+
+    /**
+     * Drop the current step and everything still queued.
+     */
+    public void clear() {
+        steps.clear();
+        current = null;
+    }
+}
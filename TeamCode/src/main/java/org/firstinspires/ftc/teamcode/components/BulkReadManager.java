@@ -0,0 +1,192 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import com.qualcomm.hardware.lynx.LynxModule;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.DigitalChannel;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Shared hardware read layer. Puts every Lynx hub in {@link LynxModule.BulkCachingMode#MANUAL}
+ * and, on each {@link #update()}, clears the caches exactly once and reads every registered
+ * channel into a {@link HardwareSnapshot}. Each hub then answers the whole cycle with a single
+ * bulk read, instead of one transaction per encoder or input.
+ *
+ * <p>Register channels during init, call {@link #update()} once at the top of every loop, and let
+ * components read from {@link #getSnapshot()}.
+ *
+ * @see org.firstinspires.ftc.robotcontroller.external.samples.ConceptMotorBulkRead
+ */
+public final class BulkReadManager {
+    private final HardwareMap map;
+    private final List<LynxModule> hubs;
+    private final List<DcMotorEx> motors = new ArrayList<>();
+    private final List<String> motorNames = new ArrayList<>();
+    private final List<DigitalChannel> digitals = new ArrayList<>();
+    private final List<String> digitalNames = new ArrayList<>();
+    private final HardwareReplay replay;
+    private final ActionScheduler.Clock clock;
+    private int[] replayMotors = new int[0];
+    private int[] replayDigitals = new int[0];
+    private HardwareRecorder recorder;
+    private HardwareSnapshot front = new HardwareSnapshot(4, 0);
+    private HardwareSnapshot back = new HardwareSnapshot(4, 0);
+    private long cycle;
+
+    public BulkReadManager(HardwareMap map) {
+        this(map, ActionScheduler.Clock.SYSTEM);
+    }
+
+    /**
+     * @param map The hardware map
+     * @param clock The clock snapshots are timestamped with. Use the same clock as the code that
+     *              consumes the reads, so a recording replays on the same time base.
+     */
+    public BulkReadManager(HardwareMap map, ActionScheduler.Clock clock) {
+        this.map = map;
+        this.hubs = map.getAll(LynxModule.class);
+        this.replay = null;
+        this.clock = clock;
+        for (LynxModule hub : hubs) {
+            hub.setBulkCachingMode(LynxModule.BulkCachingMode.MANUAL);
+        }
+    }
+
+    /**
+     * Create a manager that serves recorded reads instead of touching hardware. Each {@link
+     * #update()} advances the replay by one cycle.
+     *
+     * @param replay The recording to play back
+     */
+    public BulkReadManager(HardwareReplay replay) {
+        this.map = null;
+        this.hubs = Collections.emptyList();
+        this.replay = replay;
+        this.clock = replay;
+    }
+
+    /**
+     * Record every channel read from now on, including channels registered earlier.
+     *
+     * @param recorder The recorder, or null to stop recording
+     */
+    public void setRecorder(HardwareRecorder recorder) {
+        this.recorder = recorder;
+        if (recorder == null) return;
+        for (int i = 0; i < motorNames.size(); i++) recorder.nameMotor(i, motorNames.get(i));
+        for (int i = 0; i < digitalNames.size(); i++) recorder.nameDigital(i, digitalNames.get(i));
+    }
+
+    /**
+     * Register a motor encoder, or return the existing index if it is already registered.
+     *
+     * @param name The name in the hardware map
+     * @return The index to read it from a snapshot
+     */
+    public int registerMotor(String name) {
+        int index = motorNames.indexOf(name);
+        if (index >= 0) return index;
+        index = motorNames.size();
+        if (replay != null) {
+            replayMotors = Arrays.copyOf(replayMotors, index + 1);
+            replayMotors[index] = replay.motorChannel(name);
+        } else {
+            motors.add(map.get(DcMotorEx.class, name));
+        }
+        motorNames.add(name);
+        if (recorder != null) recorder.nameMotor(index, name);
+        return index;
+    }
+
+    /**
+     * Register a digital input, or return the existing index if it is already registered.
+     *
+     * @param name The name in the hardware map
+     * @return The index to read it from a snapshot
+     */
+    public int registerDigital(String name) {
+        int index = digitalNames.indexOf(name);
+        if (index >= 0) return index;
+        index = digitalNames.size();
+        if (replay != null) {
+            replayDigitals = Arrays.copyOf(replayDigitals, index + 1);
+            replayDigitals[index] = replay.digitalChannel(name);
+        } else {
+            digitals.add(map.get(DigitalChannel.class, name));
+        }
+        digitalNames.add(name);
+        if (recorder != null) recorder.nameDigital(index, name);
+        return index;
+    }
+
+    /**
+     * Start a new loop cycle: clear every hub cache once and capture all registered channels.
+     * When replaying, the next recorded cycle is served instead; once the recording has ended the
+     * last snapshot is returned unchanged.
+     *
+     * @return The new snapshot
+     */
+    public HardwareSnapshot update() {
+        if (replay != null && !replay.next()) return front;
+        for (int i = 0; i < hubs.size(); i++) {
+            hubs.get(i).clearBulkCache();
+        }
+
+        HardwareSnapshot next = back;
+        int motorCount = motorNames.size();
+        int digitalCount = digitalNames.size();
+        next.resize(motorCount, digitalCount);
+        if (replay != null) {
+            System.arraycopy(front.positions, 0, next.positions, 0, front.positions.length);
+            System.arraycopy(front.velocities, 0, next.velocities, 0, front.velocities.length);
+            System.arraycopy(front.digital, 0, next.digital, 0, front.digital.length);
+            replay.fill(next, replayMotors, replayDigitals);
+        } else {
+            for (int i = 0; i < motorCount; i++) {
+                DcMotorEx motor = motors.get(i);
+                next.positions[i] = motor.getCurrentPosition();
+                next.velocities[i] = motor.getVelocity();
+            }
+            for (int i = 0; i < digitalCount; i++) {
+                next.digital[i] = digitals.get(i).getState();
+            }
+            next.timestampNanos = clock.nanoTime();
+        }
+        next.cycle = cycle++;
+        if (recorder != null) record(next, motorCount, digitalCount);
+
+        back = front;
+        front = next;
+        return next;
+    }
+
+    private void record(HardwareSnapshot snapshot, int motorCount, int digitalCount) {
+        long now = snapshot.timestampNanos;
+        recorder.record(HardwareRecorder.CYCLE, 0, now, snapshot.cycle);
+        for (int i = 0; i < motorCount; i++) {
+            recorder.record(HardwareRecorder.POSITION, i, now, snapshot.positions[i]);
+            recorder.record(HardwareRecorder.VELOCITY, i, now, snapshot.velocities[i]);
+        }
+        for (int i = 0; i < digitalCount; i++) {
+            recorder.record(HardwareRecorder.DIGITAL, i, now, snapshot.digital[i] ? 1 : 0);
+        }
+    }
+
+    /**
+     * @return The snapshot from the latest {@link #update()}
+     */
+    public HardwareSnapshot getSnapshot() {
+        return front;
+    }
+
+    /**
+     * @return The number of completed cycles
+     */
+    public long getCycle() {
+        return cycle;
+    }
+}
@@ -0,0 +1,86 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+
+/**
+ * Wraps a {@link DcMotorSimple} (a motor or a continuous rotation servo) and only sends a power
+ * when it differs from the last one sent by more than an epsilon. Each write is a hub
+ * round-trip, so skipping repeated values directly shortens the loop.
+ */
+public final class CachingMotor {
+    /**
+     * Default change in power below which a write is suppressed
+     */
+    public static final double DEFAULT_EPSILON = 0.005;
+
+    private final DcMotorSimple motor;
+    private final double epsilon;
+    private final WriteStats stats;
+    private HardwareRecorder recorder;
+    private int channel;
+    private double lastPower = Double.NaN;
+
+    public CachingMotor(DcMotorSimple motor, WriteStats stats) {
+        this(motor, DEFAULT_EPSILON, stats);
+    }
+
+    public CachingMotor(DcMotorSimple motor, double epsilon, WriteStats stats) {
+        if (epsilon < 0) throw new IllegalArgumentException("Epsilon must be >= 0");
+        this.motor = motor;
+        this.epsilon = epsilon;
+        this.stats = stats;
+    }
+
+    /**
+     * Set the power, unless it is within epsilon of the last power sent. A change to exactly zero
+     * is always sent so the motor is never left creeping.
+     *
+     * @param power The power
+     * @return True if the write was sent
+     */
+    public boolean setPower(double power) {
+        if (Math.abs(power - lastPower) <= epsilon && (power != 0.0 || lastPower == 0.0)) {
+            stats.recordSuppressed();
+            return false;
+        }
+        motor.setPower(power);
+        lastPower = power;
+        stats.recordSent();
+        if (recorder != null) recorder.recordWrite(channel, power);
+        return true;
+    }
+
+    /**
+     * @return The last power sent, or NaN if none has been sent
+     */
+    public double getLastPower() {
+        return lastPower;
+    }
+
+    /**
+     * Record every write sent from now on. Replaces any earlier recorder; setting the same one
+     * again keeps its channel.
+     *
+     * @param recorder The recorder, or null to stop recording
+     * @param name The name to record the writes under
+     */
+    public void setRecorder(HardwareRecorder recorder, String name) {
+        this.recorder = recorder;
+        if (recorder != null) channel = recorder.registerWrite(name);
+    }
+
+    /**
+     * Forget the last power so the next write is always sent. Use after the motor was written
+     * directly.
+     */
+    public void invalidate() {
+        lastPower = Double.NaN;
+    }
+
+    /**
+     * @return The wrapped motor
+     */
+    public DcMotorSimple getMotor() {
+        return motor;
+    }
+}
@@ -0,0 +1,85 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import com.qualcomm.robotcore.hardware.Servo;
+
+/**
+ * Wraps a {@link Servo} and only sends a position when it differs from the last one sent by
+ * more than an epsilon.
+ *
+ * @see CachingMotor
+ */
+public final class CachingServo {
+    /**
+     * Default change in position below which a write is suppressed
+     */
+    public static final double DEFAULT_EPSILON = 0.001;
+
+    private final Servo servo;
+    private final double epsilon;
+    private final WriteStats stats;
+    private HardwareRecorder recorder;
+    private int channel;
+    private double lastPosition = Double.NaN;
+
+    public CachingServo(Servo servo, WriteStats stats) {
+        this(servo, DEFAULT_EPSILON, stats);
+    }
+
+    public CachingServo(Servo servo, double epsilon, WriteStats stats) {
+        if (epsilon < 0) throw new IllegalArgumentException("Epsilon must be >= 0");
+        this.servo = servo;
+        this.epsilon = epsilon;
+        this.stats = stats;
+    }
+
+    /**
+     * Set the position, unless it is within epsilon of the last position sent.
+     *
+     * @param position The position
+     * @return True if the write was sent
+     */
+    public boolean setPosition(double position) {
+        if (Math.abs(position - lastPosition) <= epsilon) {
+            stats.recordSuppressed();
+            return false;
+        }
+        servo.setPosition(position);
+        lastPosition = position;
+        stats.recordSent();
+        if (recorder != null) recorder.recordWrite(channel, position);
+        return true;
+    }
+
+    /**
+     * @return The last position sent, or NaN if none has been sent
+     */
+    public double getLastPosition() {
+        return lastPosition;
+    }
+
+    /**
+     * Record every write sent from now on. Replaces any earlier recorder; setting the same one
+     * again keeps its channel.
+     *
+     * @param recorder The recorder, or null to stop recording
+     * @param name The name to record the writes under
+     */
+    public void setRecorder(HardwareRecorder recorder, String name) {
+        this.recorder = recorder;
+        if (recorder != null) channel = recorder.registerWrite(name);
+    }
+
+    /**
+     * Forget the last position so the next write is always sent.
+     */
+    public void invalidate() {
+        lastPosition = Double.NaN;
+    }
+
+    /**
+     * @return The wrapped servo
+     */
+    public Servo getServo() {
+        return servo;
+    }
+}
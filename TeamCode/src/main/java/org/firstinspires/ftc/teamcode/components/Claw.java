@@ -0,0 +1,34 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.hardware.Servo;
+
+import org.firstinspires.ftc.teamcode.command.Subsystem;
+
+/**
+ * The two grip servos, as driven in {@link org.firstinspires.ftc.teamcode.BasicDrive}.
+ */
+public final class Claw implements Subsystem {
+    public static final double OPEN_POSITION = 0.25;
+    public static final double CLOSED_POSITION = 0.75;
+
+    private final CachingServo left;
+    private final CachingServo right;
+
+    public Claw(HardwareMap map, WriteStats stats) {
+        this.left = new CachingServo(map.get(Servo.class, "gripServo1"), stats);
+        Servo rightServo = map.get(Servo.class, "gripServo2");
+        rightServo.setDirection(Servo.Direction.REVERSE);
+        this.right = new CachingServo(rightServo, stats);
+    }
+
+    public void open() {
+        left.setPosition(OPEN_POSITION);
+        right.setPosition(OPEN_POSITION);
+    }
+
+    public void close() {
+        left.setPosition(CLOSED_POSITION);
+        right.setPosition(CLOSED_POSITION);
+    }
+}
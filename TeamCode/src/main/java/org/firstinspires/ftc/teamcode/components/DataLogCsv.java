@@ -0,0 +1,153 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Converts a {@link DataLogger} file to CSV: one line per row, a {@code time_s} column relative
+ * to the first row, then one column per channel. Channels not logged in a row are left empty.
+ *
+ * <p>Runs on any JVM: {@code java DataLogCsv in.bin out.csv}.
+ */
+public final class DataLogCsv {
+    private DataLogCsv() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: DataLogCsv <log> <csv>");
+            System.exit(2);
+        }
+        convert(new File(args[0]), new File(args[1]));
+    }
+
+    /**
+     * @param log The file written by {@link DataLogger}
+     * @param csv The CSV file to write, replaced if it exists
+     * @return The number of rows written
+     * @throws IOException If a file cannot be read or written, or the log is malformed
+     */
+    public static int convert(File log, File csv) throws IOException {
+        ByteBuffer buffer = read(log);
+        List<String> names = new ArrayList<>();
+        List<Byte> types = new ArrayList<>();
+        List<String> strings = new ArrayList<>();
+
+        // Channels may be declared anywhere, so collect them before writing the header
+        for (buffer.position(DataLogger.HEADER_BYTES); buffer.hasRemaining(); ) {
+            byte tag = buffer.get();
+            switch (tag) {
+                case DataLogger.TAG_CHANNEL:
+                    int id = buffer.getShort();
+                    while (names.size() <= id) {
+                        names.add(null);
+                        types.add(null);
+                    }
+                    types.set(id, buffer.get());
+                    names.set(id, text(buffer));
+                    break;
+                case DataLogger.TAG_STRING:
+                    buffer.getInt();
+                    text(buffer);
+                    break;
+                case DataLogger.TAG_ROW:
+                    buffer.getLong();
+                    break;
+                case DataLogger.TAG_VALUE:
+                    buffer.getShort();
+                    buffer.getLong();
+                    break;
+                default:
+                    throw new IOException("Bad record tag " + tag);
+            }
+        }
+
+        int rows = 0;
+        String[] row = new String[names.size()];
+        long start = 0;
+        long time = 0;
+        try (PrintWriter out = new PrintWriter(new FileWriter(csv))) {
+            out.print("time_s");
+            for (String name : names) out.print("," + name);
+            out.println();
+            for (buffer.position(DataLogger.HEADER_BYTES); buffer.hasRemaining(); ) {
+                byte tag = buffer.get();
+                switch (tag) {
+                    case DataLogger.TAG_CHANNEL:
+                        buffer.getShort();
+                        buffer.get();
+                        text(buffer);
+                        break;
+                    case DataLogger.TAG_STRING:
+                        int id = buffer.getInt();
+                        while (strings.size() <= id) strings.add(null);
+                        strings.set(id, text(buffer));
+                        break;
+                    case DataLogger.TAG_ROW:
+                        if (rows > 0) printRow(out, (time - start) * 1e-9, row);
+                        time = buffer.getLong();
+                        if (rows++ == 0) start = time;
+                        break;
+                    default:
+                        int channel = buffer.getShort();
+                        long bits = buffer.getLong();
+                        row[channel] = format(types.get(channel), bits, strings);
+                        break;
+                }
+            }
+            if (rows > 0) printRow(out, (time - start) * 1e-9, row);
+        }
+        return rows;
+    }
+
+    private static ByteBuffer read(File log) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(log, "r")) {
+            if (file.readInt() != DataLogger.MAGIC) throw new IOException(log + " is not a data log");
+            int version = file.readInt();
+            if (version != DataLogger.VERSION) {
+                throw new IOException("Unsupported data log version " + version);
+            }
+            int used = file.readInt();
+            byte[] bytes = new byte[used];
+            file.seek(0);
+            file.readFully(bytes);
+            return ByteBuffer.wrap(bytes);
+        }
+    }
+
+    private static String text(ByteBuffer buffer) {
+        byte[] text = new byte[buffer.getShort() & 0xffff];
+        buffer.get(text);
+        return new String(text, DataLogger.UTF_8);
+    }
+
+    private static String format(byte type, long bits, List<String> strings) {
+        switch (type) {
+            case DataLogger.DOUBLE:
+                return Double.toString(Double.longBitsToDouble(bits));
+            case DataLogger.BOOLEAN:
+                return bits != 0 ? "true" : "false";
+            case DataLogger.STRING:
+                return '"' + strings.get((int) bits).replace("\"", "\"\"") + '"';
+            default:
+                return Long.toString(bits);
+        }
+    }
+
+    private static void printRow(PrintWriter out, double time, String[] row) {
+        out.printf(Locale.US, "%.6f", time);
+        for (int i = 0; i < row.length; i++) {
+            out.print(',');
+            if (row[i] != null) out.print(row[i]);
+            row[i] = null;
+        }
+        out.println();
+    }
+}
@@ -0,0 +1,248 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary data logger for the control loop, in place of building strings for {@link
+ * android.util.Log}.
+ *
+ * <p>Channels are typed ({@code double}, {@code long}, {@code boolean} or string) and declared
+ * once; after that, logging a value is a few bytes written into a pre-sized memory-mapped file,
+ * with no formatting and no allocation. Strings are interned: the text is written the first time
+ * it is seen and every later value is just its id. A daemon thread flushes the mapping to storage
+ * periodically. The file never grows past its initial size; once it is full, further values are
+ * counted and dropped.
+ *
+ * <p>Values are grouped into rows. Call {@link #startRow()} once per loop, then {@link #log}
+ * each channel. Convert the file with {@link DataLogCsv}.
+ *
+ * <pre>
+ * DataLogger logger = new DataLogger(file, DataLogger.DEFAULT_CAPACITY);
+ * int detections = logger.addChannel("detections", DataLogger.LONG);
+ * while (opModeIsActive()) {
+ *     logger.startRow();
+ *     logger.log(detections, recognitions.size());
+ * }
+ * logger.close();
+ * </pre>
+ */
+public final class DataLogger implements Closeable {
+    public static final byte DOUBLE = 0;
+    public static final byte LONG = 1;
+    public static final byte BOOLEAN = 2;
+    public static final byte STRING = 3;
+
+    /**
+     * Default file size, in bytes
+     */
+    public static final int DEFAULT_CAPACITY = 16 << 20;
+    /**
+     * Default interval between background flushes, in milliseconds
+     */
+    public static final long DEFAULT_FLUSH_INTERVAL_MS = 500;
+
+    static final int MAGIC = 0x46544c47;
+    static final int VERSION = 1;
+    /**
+     * Offset of the number of valid bytes, updated after every record
+     */
+    static final int USED_OFFSET = 8;
+    static final int HEADER_BYTES = 12;
+
+    static final byte TAG_CHANNEL = 1;
+    static final byte TAG_STRING = 2;
+    static final byte TAG_ROW = 3;
+    static final byte TAG_VALUE = 4;
+
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+    private final ActionScheduler.Clock clock;
+    private final byte[] types = new byte[Short.MAX_VALUE];
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Thread flusher;
+    private int channels;
+    private long dropped;
+    private volatile boolean closed;
+
+    /**
+     * @param path The file to write, replaced if it exists
+     * @param capacity The file size, in bytes
+     * @throws IOException If the file cannot be created or mapped
+     */
+    public DataLogger(File path, int capacity) throws IOException {
+        this(path, capacity, DEFAULT_FLUSH_INTERVAL_MS, ActionScheduler.Clock.SYSTEM);
+    }
+
+    /**
+     * @param path The file to write, replaced if it exists
+     * @param capacity The file size, in bytes
+     * @param flushIntervalMs Interval between background flushes, in milliseconds
+     * @param clock The clock rows are timestamped with
+     * @throws IOException If the file cannot be created or mapped
+     */
+    public DataLogger(File path, int capacity, long flushIntervalMs, ActionScheduler.Clock clock)
+            throws IOException {
+        if (capacity <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Capacity must be > " + HEADER_BYTES);
+        }
+        File parent = path.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        this.clock = clock;
+        this.file = new RandomAccessFile(path, "rw");
+        file.setLength(0);
+        file.setLength(capacity);
+        this.buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(HEADER_BYTES);
+
+        this.flusher = new Thread(() -> {
+            while (!closed) {
+                try {
+                    Thread.sleep(flushIntervalMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                buffer.force();
+            }
+        }, "DataLogger flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Declare a channel.
+     *
+     * @param name The column name
+     * @param type One of {@link #DOUBLE}, {@link #LONG}, {@link #BOOLEAN} or {@link #STRING}
+     * @return The channel id to log to
+     */
+    public int addChannel(String name, byte type) {
+        if (type < DOUBLE || type > STRING) throw new IllegalArgumentException("Unknown type");
+        if (channels == types.length) throw new IllegalStateException("Too many channels");
+        int id = channels++;
+        types[id] = type;
+        byte[] text = encode(name);
+        if (reserve(1 + 2 + 1 + 2 + text.length)) {
+            buffer.put(TAG_CHANNEL).putShort((short) id).put(type);
+            putText(text);
+            commit();
+        }
+        return id;
+    }
+
+    /**
+     * Start a row, timestamped now.
+     */
+    public void startRow() {
+        if (!reserve(1 + 8)) return;
+        buffer.put(TAG_ROW).putLong(clock.nanoTime());
+        commit();
+    }
+
+    public void log(int channel, double value) {
+        check(channel, DOUBLE);
+        putValue(channel, Double.doubleToRawLongBits(value));
+    }
+
+    public void log(int channel, long value) {
+        check(channel, LONG);
+        putValue(channel, value);
+    }
+
+    public void log(int channel, boolean value) {
+        check(channel, BOOLEAN);
+        putValue(channel, value ? 1 : 0);
+    }
+
+    /**
+     * Log a string. Only the first occurrence of each distinct string allocates; keep the set of
+     * strings small, like labels or states.
+     */
+    public void log(int channel, String value) {
+        check(channel, STRING);
+        Integer id = strings.get(value);
+        if (id == null) {
+            byte[] text = encode(value);
+            if (!reserve(1 + 4 + 2 + text.length)) return;
+            id = strings.size();
+            strings.put(value, id);
+            buffer.put(TAG_STRING).putInt(id);
+            putText(text);
+            commit();
+        }
+        putValue(channel, id);
+    }
+
+    private void check(int channel, byte type) {
+        if (channel < 0 || channel >= channels || types[channel] != type) {
+            throw new IllegalArgumentException("Channel " + channel + " is not of this type");
+        }
+    }
+
+    private void putValue(int channel, long bits) {
+        if (!reserve(1 + 2 + 8)) return;
+        buffer.put(TAG_VALUE).putShort((short) channel).putLong(bits);
+        commit();
+    }
+
+    private static byte[] encode(String text) {
+        byte[] bytes = text.getBytes(UTF_8);
+        if (bytes.length > 0xffff) throw new IllegalArgumentException("String too long");
+        return bytes;
+    }
+
+    private void putText(byte[] text) {
+        buffer.putShort((short) text.length).put(text);
+    }
+
+    private boolean reserve(int bytes) {
+        if (closed || buffer.remaining() < bytes) {
+            dropped++;
+            return false;
+        }
+        return true;
+    }
+
+    private void commit() {
+        buffer.putInt(USED_OFFSET, buffer.position());
+    }
+
+    /**
+     * @return Bytes written, including the header
+     */
+    public int getUsed() {
+        return buffer.position();
+    }
+
+    /**
+     * @return Records dropped because the file was full or closed
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Stop the flusher, flush everything and close the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        flusher.interrupt();
+        buffer.force();
+        file.close();
+    }
+}
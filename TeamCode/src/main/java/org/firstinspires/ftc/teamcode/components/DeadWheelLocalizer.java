@@ -0,0 +1,93 @@
+package org.firstinspires.ftc.teamcode.components;
+
+/**
+ * Tracks the robot pose from three unpowered odometry pods: two parallel to the direction of
+ * travel on either side of the robot and one perpendicular. Pods are read like motor encoders,
+ * so register their ports with {@link BulkReadManager#registerMotor(String)}.
+ */
+public final class DeadWheelLocalizer implements Localizer {
+    private final double inchesPerTick;
+    private final double lateralDistance;
+    private final double forwardOffset;
+    private final Odometry odometry = new Odometry();
+    private int lastLeft;
+    private int lastRight;
+    private int lastPerpendicular;
+    private boolean seeded;
+
+    /**
+     * @param inchesPerTick Pod travel per encoder tick
+     * @param lateralDistance Distance between the two parallel pods
+     * @param forwardOffset Distance of the perpendicular pod ahead of the center of rotation
+     */
+    public DeadWheelLocalizer(double inchesPerTick, double lateralDistance, double forwardOffset) {
+        if (lateralDistance <= 0) throw new IllegalArgumentException("Lateral distance must be > 0");
+        this.inchesPerTick = inchesPerTick;
+        this.lateralDistance = lateralDistance;
+        this.forwardOffset = forwardOffset;
+    }
+
+    /**
+     * Update from a bulk read snapshot.
+     *
+     * @param snapshot The snapshot of the current cycle
+     * @param left Index of the left pod
+     * @param right Index of the right pod
+     * @param perpendicular Index of the perpendicular pod
+     */
+    public void update(HardwareSnapshot snapshot, int left, int right, int perpendicular) {
+        update(
+                snapshot.getPosition(left),
+                snapshot.getPosition(right),
+                snapshot.getPosition(perpendicular));
+    }
+
+    /**
+     * Update from absolute pod positions. The first call only records the starting ticks.
+     *
+     * @param left Left pod, positive forward
+     * @param right Right pod, positive forward
+     * @param perpendicular Perpendicular pod, positive to the left
+     */
+    public void update(int left, int right, int perpendicular) {
+        if (!seeded) {
+            lastLeft = left;
+            lastRight = right;
+            lastPerpendicular = perpendicular;
+            seeded = true;
+            return;
+        }
+        double dl = (left - lastLeft) * inchesPerTick;
+        double dr = (right - lastRight) * inchesPerTick;
+        double dp = (perpendicular - lastPerpendicular) * inchesPerTick;
+        lastLeft = left;
+        lastRight = right;
+        lastPerpendicular = perpendicular;
+
+        double turn = (dr - dl) / lateralDistance;
+        odometry.integrate((dl + dr) / 2.0, dp - forwardOffset * turn, turn);
+    }
+
+    /**
+     * Reset the pose. Encoder history is kept, so the next update continues from here.
+     */
+    @Override
+    public void setPose(double x, double y, double heading) {
+        odometry.setPose(x, y, heading);
+    }
+
+    @Override
+    public double getX() {
+        return odometry.getX();
+    }
+
+    @Override
+    public double getY() {
+        return odometry.getY();
+    }
+
+    @Override
+    public double getHeading() {
+        return odometry.getHeading();
+    }
+}
@@ -1,57 +1,357 @@
 package org.firstinspires.ftc.teamcode.components;
 
-import android.util.Log;
-
 import com.qualcomm.robotcore.hardware.DcMotor;
 import com.qualcomm.robotcore.hardware.DcMotorSimple;
 import com.qualcomm.robotcore.hardware.HardwareMap;
-import com.qualcomm.robotcore.util.ElapsedTime;
 
-public final class DriveTrain {
-    private final DcMotor backLeft;
-    private final DcMotor backRight;
-    private final DcMotor frontLeft;
-    private final DcMotor frontRight;
-    private final ElapsedTime time;
+import org.firstinspires.ftc.teamcode.command.Subsystem;
+import org.firstinspires.ftc.teamcode.motion.MotionConstraints;
+import org.firstinspires.ftc.teamcode.motion.MotionProfile;
+import org.firstinspires.ftc.teamcode.motion.MotionProfiles;
+
+public final class DriveTrain implements Subsystem, MecanumDrive {
+    /**
+     * Distance between the left and right wheel centers, in inches. Measure on the robot.
+     */
+    public static final double TRACK_WIDTH = 14.0;
+    /**
+     * Distance between the front and back wheel centers, in inches. Measure on the robot.
+     */
+    public static final double WHEEL_BASE = 12.0;
+    /**
+     * Mecanum wheel radius, in inches (96 mm wheels)
+     */
+    public static final double WHEEL_RADIUS = 1.89;
+    /**
+     * Encoder ticks per wheel revolution (312 rpm Yellow Jacket)
+     */
+    public static final double TICKS_PER_REV = 537.7;
+    /**
+     * Wheel travel per encoder tick, in inches
+     */
+    public static final double INCHES_PER_TICK = 2 * Math.PI * WHEEL_RADIUS / TICKS_PER_REV;
+    /**
+     * Drive geometry, in inches
+     */
+    public static final MecanumKinematics GEOMETRY =
+            MecanumKinematics.fromGeometry(TRACK_WIDTH, WHEEL_BASE);
+    /**
+     * Wheel surface speed at full power, in inches per second (312 rpm)
+     */
+    public static final double MAX_WHEEL_VELOCITY = 312.0 / 60.0 * 2 * Math.PI * WHEEL_RADIUS;
+    /**
+     * Length of a field tile, in inches
+     */
+    public static final double TILE = 24.0;
+    /**
+     * Power per inch per second of wheel velocity
+     */
+    public static final double K_V = 1.0 / MAX_WHEEL_VELOCITY;
+    /**
+     * Power per inch per second squared of wheel acceleration. Tune on the robot.
+     */
+    public static final double K_A = 0.002;
+    /**
+     * Velocity correction per inch of position error. Tune on the robot.
+     */
+    public static final double K_P = 4.0;
+    /**
+     * Limits for profiled moves, in inches
+     */
+    public static final MotionConstraints DEFAULT_CONSTRAINTS =
+            new MotionConstraints(40.0, 60.0, 300.0);
+
+    private static final MecanumKinematics KINEMATICS = new MecanumKinematics(1.0);
+    private static final double HALF_SQRT2 = 0.7071067811865476;
+
+    private final CachingMotor backLeft;
+    private final CachingMotor backRight;
+    private final CachingMotor frontLeft;
+    private final CachingMotor frontRight;
+    private final ActionScheduler scheduler;
+    private final WriteStats writeStats = new WriteStats();
+    private final BulkReadManager bulkReads;
+    private final boolean ownsBulkReads;
+    private final int[] wheelChannels = new int[MecanumKinematics.WHEELS];
+    private final double[] wheels = new double[MecanumKinematics.WHEELS];
+    private double powerFrontRight;
+    private double powerFrontLeft;
+    private double powerBackRight;
+    private double powerBackLeft;
+    private boolean deferWrites;
 
     public DriveTrain(HardwareMap map) {
-        this.time = new ElapsedTime();
-        this.backLeft = map.get(DcMotor.class, "backLeft");
-        this.backRight = map.get(DcMotor.class, "backRight");
-        this.frontLeft = map.get(DcMotor.class, "frontLeft");
-        this.frontRight = map.get(DcMotor.class, "frontRight");
-        this.backLeft.setDirection(DcMotorSimple.Direction.FORWARD);
-        this.backRight.setDirection(DcMotorSimple.Direction.REVERSE);
-        this.frontLeft.setDirection(DcMotorSimple.Direction.FORWARD);
-        this.frontRight.setDirection(DcMotorSimple.Direction.REVERSE);
-    }
-
-    public void wait(double ms) {
-        this.time.reset();
-
-        while (this.time.milliseconds() < ms) {
-            Log.d("DriveTrain", "Waiting for " + (ms - this.time.milliseconds()) + "ms");
+        this(map, new ActionScheduler());
+    }
+
+    public DriveTrain(HardwareMap map, ActionScheduler scheduler) {
+        this(map, scheduler, new BulkReadManager(map), true, null);
+    }
+
+    /**
+     * Create a drive train, recording how long its hardware lookups take.
+     *
+     * @param map The hardware map
+     * @param profiler Where to record the lookups
+     */
+    public DriveTrain(HardwareMap map, InitProfiler profiler) {
+        this(map, new ActionScheduler(), bulkReads(map, profiler), true, profiler);
+    }
+
+    /**
+     * Create a drive train that reads its encoders from a shared {@link BulkReadManager}. The
+     * caller is responsible for calling {@link BulkReadManager#update()} once per loop.
+     */
+    public DriveTrain(HardwareMap map, ActionScheduler scheduler, BulkReadManager bulkReads) {
+        this(map, scheduler, bulkReads, false, null);
+    }
+
+    /**
+     * Create a drive train that reads its encoders from a shared {@link BulkReadManager},
+     * recording how long its hardware lookups take.
+     *
+     * @param map The hardware map
+     * @param bulkReads The shared reads, updated by the caller once per loop
+     * @param profiler Where to record the lookups
+     */
+    public DriveTrain(HardwareMap map, BulkReadManager bulkReads, InitProfiler profiler) {
+        this(map, new ActionScheduler(), bulkReads, false, profiler);
+    }
+
+    private DriveTrain(
+            HardwareMap map,
+            ActionScheduler scheduler,
+            BulkReadManager bulkReads,
+            boolean ownsBulkReads,
+            InitProfiler profiler) {
+        this.scheduler = scheduler;
+        this.bulkReads = bulkReads;
+        this.ownsBulkReads = ownsBulkReads;
+        long start = profiler == null ? 0 : profiler.start();
+        this.backLeft = motor(map, "backLeft", DcMotorSimple.Direction.FORWARD);
+        this.backRight = motor(map, "backRight", DcMotorSimple.Direction.REVERSE);
+        this.frontLeft = motor(map, "frontLeft", DcMotorSimple.Direction.FORWARD);
+        this.frontRight = motor(map, "frontRight", DcMotorSimple.Direction.REVERSE);
+        if (profiler != null) profiler.end("drive train motors", start);
+        // Same swapped right-hand layout as in move()
+        wheelChannels[MecanumKinematics.FRONT_LEFT] = bulkReads.registerMotor("frontLeft");
+        wheelChannels[MecanumKinematics.FRONT_RIGHT] = bulkReads.registerMotor("backRight");
+        wheelChannels[MecanumKinematics.BACK_LEFT] = bulkReads.registerMotor("backLeft");
+        wheelChannels[MecanumKinematics.BACK_RIGHT] = bulkReads.registerMotor("frontRight");
+    }
+
+    private static BulkReadManager bulkReads(HardwareMap map, InitProfiler profiler) {
+        long start = profiler.start();
+        BulkReadManager bulkReads = new BulkReadManager(map);
+        profiler.end("drive train hubs", start);
+        return bulkReads;
+    }
+
+    private CachingMotor motor(HardwareMap map, String name, DcMotorSimple.Direction direction) {
+        DcMotor motor = map.get(DcMotor.class, name);
+        motor.setDirection(direction);
+        return new CachingMotor(motor, writeStats);
+    }
+
+    /**
+     * Refresh encoder reads (when this drive train owns its {@link BulkReadManager}), advance
+     * queued moves and close the write statistics cycle. Call once per loop tick.
+     *
+     * @return True if a queued move is still in progress
+     */
+    public boolean update() {
+        if (ownsBulkReads) bulkReads.update();
+        boolean busy = scheduler.update();
+        if (!deferWrites) writeStats.endCycle();
+        return busy;
+    }
+
+    /**
+     * Hold motor powers until {@link #flush()} instead of sending them as they are set, so a loop
+     * can time its writes apart from the code that computes them.
+     *
+     * @param deferWrites True to hold powers until {@link #flush()}
+     */
+    public void setDeferWrites(boolean deferWrites) {
+        this.deferWrites = deferWrites;
+    }
+
+    /**
+     * Send the latest powers and close the write statistics cycle. Only needed with deferred
+     * writes; call once per loop tick, after everything that drives has run.
+     */
+    public void flush() {
+        sendPowers();
+        writeStats.endCycle();
+    }
+
+    private void sendPowers() {
+        this.backRight.setPower(powerBackRight);
+        this.backLeft.setPower(powerBackLeft);
+        this.frontRight.setPower(powerFrontRight);
+        this.frontLeft.setPower(powerFrontLeft);
+    }
+
+    /**
+     * Copy the wheel encoder positions from the latest bulk read snapshot.
+     *
+     * @param out Output in {@link MecanumKinematics} wheel order, in ticks
+     */
+    @Override
+    public void getWheelPositions(int[] out) {
+        HardwareSnapshot snapshot = bulkReads.getSnapshot();
+        for (int i = 0; i < MecanumKinematics.WHEELS; i++) {
+            out[i] = snapshot.getPosition(wheelChannels[i]);
         }
     }
 
+    /**
+     * Copy the wheel encoder velocities from the latest bulk read snapshot.
+     *
+     * @param out Output in {@link MecanumKinematics} wheel order, in ticks per second
+     */
+    public void getWheelVelocities(double[] out) {
+        HardwareSnapshot snapshot = bulkReads.getSnapshot();
+        for (int i = 0; i < MecanumKinematics.WHEELS; i++) {
+            out[i] = snapshot.getVelocity(wheelChannels[i]);
+        }
+    }
+
+    /**
+     * @return The bulk read layer the encoders are read from
+     */
+    public BulkReadManager getBulkReads() {
+        return bulkReads;
+    }
+
+    /**
+     * @return Counts of motor writes sent and suppressed, closed at every {@link #update()}
+     */
+    public WriteStats getWriteStats() {
+        return writeStats;
+    }
+
+    /**
+     * Record encoder reads (when this drive train owns its {@link BulkReadManager}) and every
+     * motor write sent.
+     *
+     * @param recorder The recorder, or null to stop recording
+     */
+    public void setRecorder(HardwareRecorder recorder) {
+        if (ownsBulkReads) bulkReads.setRecorder(recorder);
+        backLeft.setRecorder(recorder, "backLeft");
+        backRight.setRecorder(recorder, "backRight");
+        frontLeft.setRecorder(recorder, "frontLeft");
+        frontRight.setRecorder(recorder, "frontRight");
+    }
+
+    /**
+     * @return True if a queued move is in progress or pending
+     */
+    public boolean isBusy() {
+        return !scheduler.isIdle();
+    }
+
+    /**
+     * Queue a move that holds for a duration before the next queued step starts.
+     *
+     * @param x The x power
+     * @param y The y power
+     * @param ms The duration in milliseconds
+     */
+    public void queueMove(double x, double y, double ms) {
+        scheduler.then(ms, () -> move(x, y));
+    }
+
+    /**
+     * Queue a move along a jerk-limited motion profile, using the wheel encoders to correct
+     * position error. Directions follow {@link #move(double, double)}.
+     *
+     * @param x The strafe distance, in inches
+     * @param y The drive distance, in inches
+     * @param constraints Limits along the direction of travel
+     */
+    public void queueProfiledMove(double x, double y, MotionConstraints constraints) {
+        double distance = Math.hypot(x, y);
+        if (distance == 0) return;
+        queueProfiledMove(x, y, MotionProfiles.sCurve(distance, constraints));
+    }
+
+    /**
+     * Queue a move along a profile built ahead of time, so queueing it does no planning.
+     *
+     * @param x The strafe distance, in inches
+     * @param y The drive distance, in inches
+     * @param profile A profile over {@code hypot(x, y)}
+     */
+    public void queueProfiledMove(double x, double y, MotionProfile profile) {
+        ProfiledMove.queue(scheduler, this, x, y, profile);
+    }
+
+    /**
+     * Queue a profiled move with {@link #DEFAULT_CONSTRAINTS}.
+     *
+     * @param x The strafe distance, in inches
+     * @param y The drive distance, in inches
+     */
+    public void queueProfiledMove(double x, double y) {
+        queueProfiledMove(x, y, DEFAULT_CONSTRAINTS);
+    }
+
+    /**
+     * Queue a pause that keeps the current powers.
+     *
+     * @param ms The duration in milliseconds
+     */
+    public void queueHold(double ms) {
+        scheduler.hold(ms);
+    }
+
+    /**
+     * Queue a stop of all motors.
+     */
+    public void queueStop() {
+        scheduler.then(this::halt);
+    }
+
     public void powers(double pfr, double pfl, double pbr, double pbl) {
-        this.backRight.setPower(pbr);
-        this.backLeft.setPower(pbl);
-        this.frontRight.setPower(pfr);
-        this.frontLeft.setPower(pfl);
+        powerFrontRight = pfr;
+        powerFrontLeft = pfl;
+        powerBackRight = pbr;
+        powerBackLeft = pbl;
+        if (!deferWrites) sendPowers();
     }
 
+    /**
+     * Drive with the given powers. Wheel powers are desaturated so that the direction of travel
+     * is kept when a wheel would exceed full power.
+     *
+     * @param x The strafe power
+     * @param y The drive power
+     * @param rotate The rotation power
+     */
     public void move(double x, double y, double rotate) {
-        double robotAngle = -y;
-        double r = Math.hypot(x, robotAngle);
-        double rightX = -y;
-        robotAngle = Math.atan2(rightX, x) - 0.7853981633974483;
-        rightX = rotate / 1.25;
-        double v1 = r * Math.cos(robotAngle) + rightX;
-        double v2 = r * Math.sin(robotAngle) - rightX;
-        double v3 = r * Math.sin(robotAngle) + rightX;
-        double v4 = r * Math.cos(robotAngle) - rightX;
-        this.powers(v1, v4, v3, v2);
+        drive(-y * HALF_SQRT2, -x * HALF_SQRT2, rotate / 1.25);
+    }
+
+    /**
+     * Drive with wheel powers for a robot frame motion, as defined by {@link MecanumKinematics}.
+     *
+     * @param vx The forward power
+     * @param vy The leftward power
+     * @param omega The counter-clockwise power
+     */
+    @Override
+    public void drive(double vx, double vy, double omega) {
+        KINEMATICS.inverse(vx, vy, omega, wheels);
+        MecanumKinematics.desaturate(wheels, 1.0);
+        // The right-hand motors are configured swapped relative to the standard layout (see
+        // BasicDrive), so the front right port takes the back right wheel value and vice versa.
+        this.powers(
+                wheels[MecanumKinematics.BACK_RIGHT],
+                wheels[MecanumKinematics.FRONT_LEFT],
+                wheels[MecanumKinematics.FRONT_RIGHT],
+                wheels[MecanumKinematics.BACK_LEFT]);
     }
 
     public void move(double x, double y) {
@@ -59,34 +359,34 @@ public final class DriveTrain {
     }
 
     public void blockForward() {
-        move(0, 0.75);
-        this.wait(1000.0);
-        this.stop();
+        queueProfiledMove(0, TILE);
+        queueStop();
     }
 
     public void blockBackward() {
-        move(0, -0.75);
-        this.wait(1000.0);
-        this.stop();
+        queueProfiledMove(0, -TILE);
+        queueStop();
     }
 
     public void blockLeft() {
-        move(-0.75, 0.0);
-        this.wait(1000.0);
-        this.stop();
+        queueProfiledMove(-TILE, 0);
+        queueStop();
     }
 
     public void blockRight() {
-        move(0.75, 0.0);
-        this.wait(1000.0);
-        this.stop();
+        queueProfiledMove(TILE, 0);
+        queueStop();
     }
 
+    /**
+     * Stop all motors and drop any queued moves.
+     */
     public void stop() {
-        this.backLeft.setPower(0.0);
-        this.backRight.setPower(0.0);
-        this.frontLeft.setPower(0.0);
-        this.frontRight.setPower(0.0);
-        this.time.reset();
+        scheduler.clear();
+        halt();
+    }
+
+    private void halt() {
+        powers(0.0, 0.0, 0.0, 0.0);
     }
 }
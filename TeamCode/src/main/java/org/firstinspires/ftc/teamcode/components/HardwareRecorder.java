@@ -0,0 +1,187 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records hardware reads and writes into a fixed-size binary ring buffer, for offline replay
+ * with {@link HardwareReplay}.
+ *
+ * <p>Every record is {@link #RECORD_BYTES} bytes: a {@link System#nanoTime()} timestamp, a kind
+ * and channel, and the value. {@link BulkReadManager} records a {@link #CYCLE} marker and every
+ * channel it reads; {@link CachingMotor} and {@link CachingServo} record every write they send.
+ * Recording never allocates. When the buffer is full the oldest records are overwritten, so a
+ * long run keeps its most recent cycles.
+ */
+public final class HardwareRecorder {
+    /**
+     * Start of a bulk read cycle. The value is the cycle number.
+     */
+    public static final int CYCLE = 0;
+    /**
+     * Encoder position, in ticks
+     */
+    public static final int POSITION = 1;
+    /**
+     * Encoder velocity, in ticks per second
+     */
+    public static final int VELOCITY = 2;
+    /**
+     * Digital input, 1 or 0
+     */
+    public static final int DIGITAL = 3;
+    /**
+     * Motor power or servo position sent
+     */
+    public static final int WRITE = 4;
+
+    /**
+     * Size of one record, in bytes
+     */
+    public static final int RECORD_BYTES = 20;
+    /**
+     * Default capacity, in records (about 10 minutes of a drive train at 100 Hz)
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    static final int MAGIC = 0x48575243;
+    static final int VERSION = 1;
+
+    private final ByteBuffer records;
+    private final int capacity;
+    private final ActionScheduler.Clock clock;
+    private final List<String> motorNames = new ArrayList<>();
+    private final List<String> digitalNames = new ArrayList<>();
+    private final List<String> writeNames = new ArrayList<>();
+    private long written;
+
+    public HardwareRecorder() {
+        this(DEFAULT_CAPACITY, ActionScheduler.Clock.SYSTEM);
+    }
+
+    /**
+     * @param capacity The number of records kept
+     * @param clock The clock writes are timestamped with. Use the {@link HardwareReplay} when
+     *              recording a replay, so both recordings share a time base.
+     */
+    public HardwareRecorder(int capacity, ActionScheduler.Clock clock) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be > 0");
+        this.capacity = capacity;
+        this.clock = clock;
+        this.records = ByteBuffer.allocate(capacity * RECORD_BYTES);
+    }
+
+    void nameMotor(int channel, String name) {
+        name(motorNames, channel, name);
+    }
+
+    void nameDigital(int channel, String name) {
+        name(digitalNames, channel, name);
+    }
+
+    private static void name(List<String> names, int channel, String name) {
+        while (names.size() <= channel) names.add(null);
+        names.set(channel, name);
+    }
+
+    /**
+     * Allocate a channel for an actuator, or return the existing channel if it is already
+     * registered.
+     *
+     * @param name The name in the hardware map
+     * @return The channel to pass to {@link #record(int, int, long, double)}
+     */
+    public int registerWrite(String name) {
+        int channel = writeNames.indexOf(name);
+        if (channel >= 0) return channel;
+        writeNames.add(name);
+        return writeNames.size() - 1;
+    }
+
+    /**
+     * Record a write to an actuator, timestamped now.
+     *
+     * @param channel The channel from {@link #registerWrite(String)}
+     * @param value The power or position sent
+     */
+    public void recordWrite(int channel, double value) {
+        record(WRITE, channel, clock.nanoTime(), value);
+    }
+
+    /**
+     * Append a record, overwriting the oldest one if the buffer is full.
+     *
+     * @param kind One of {@link #CYCLE}, {@link #POSITION}, {@link #VELOCITY}, {@link #DIGITAL}
+     *             or {@link #WRITE}
+     * @param channel The channel index within the kind
+     * @param nanos The timestamp
+     * @param value The value
+     */
+    public void record(int kind, int channel, long nanos, double value) {
+        int offset = (int) (written % capacity) * RECORD_BYTES;
+        records.putLong(offset, nanos);
+        records.putShort(offset + 8, (short) kind);
+        records.putShort(offset + 10, (short) channel);
+        records.putDouble(offset + 12, value);
+        written++;
+    }
+
+    /**
+     * @return The number of records held, at most the capacity
+     */
+    public int size() {
+        return (int) Math.min(written, capacity);
+    }
+
+    /**
+     * @return The number of records overwritten because the buffer was full
+     */
+    public long getDropped() {
+        return Math.max(0, written - capacity);
+    }
+
+    /**
+     * Drop every record. Channel names are kept.
+     */
+    public void clear() {
+        written = 0;
+    }
+
+    /**
+     * Save the channel names and the buffered records, oldest first, replacing the file.
+     *
+     * @param file The file to write
+     * @throws IOException If the file cannot be written
+     */
+    public void writeTo(File file) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeNames(out, motorNames);
+            writeNames(out, digitalNames);
+            writeNames(out, writeNames);
+            int size = size();
+            out.writeInt(size);
+            long first = written - size;
+            for (long i = first; i < written; i++) {
+                out.write(records.array(), (int) (i % capacity) * RECORD_BYTES, RECORD_BYTES);
+            }
+        }
+    }
+
+    private static void writeNames(DataOutputStream out, List<String> names) throws IOException {
+        out.writeInt(names.size());
+        for (String name : names) out.writeUTF(name == null ? "" : name);
+    }
+}
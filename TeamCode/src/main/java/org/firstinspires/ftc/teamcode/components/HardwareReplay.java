@@ -0,0 +1,217 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Plays back a recording made by {@link HardwareRecorder}, one bulk read cycle at a time.
+ *
+ * <p>Pass it to {@link BulkReadManager#BulkReadManager(HardwareReplay)} in place of a hardware
+ * map, and use it as the {@link ActionScheduler.Clock} for the code under test: each {@link
+ * BulkReadManager#update()} then serves exactly the reads recorded for that cycle, and time
+ * stands still at the recorded timestamp until the next cycle. Nothing sleeps, so a match replays
+ * as fast as the control code runs. Record the replayed writes with a second {@link
+ * HardwareRecorder} and compare them with {@link #getWrites(String)} to find where behavior
+ * diverged.
+ */
+public final class HardwareReplay implements ActionScheduler.Clock {
+    private final List<String> motorNames;
+    private final List<String> digitalNames;
+    private final List<String> writeNames;
+    private final long[] timestamps;
+    private final short[] kinds;
+    private final short[] channels;
+    private final double[] values;
+    private final int[] cycleStarts;
+    private int cycle = -1;
+
+    private HardwareReplay(
+            List<String> motorNames,
+            List<String> digitalNames,
+            List<String> writeNames,
+            long[] timestamps,
+            short[] kinds,
+            short[] channels,
+            double[] values) {
+        this.motorNames = motorNames;
+        this.digitalNames = digitalNames;
+        this.writeNames = writeNames;
+        this.timestamps = timestamps;
+        this.kinds = kinds;
+        this.channels = channels;
+        this.values = values;
+        int[] starts = new int[16];
+        int count = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            if (kinds[i] != HardwareRecorder.CYCLE) continue;
+            if (count == starts.length) starts = Arrays.copyOf(starts, count * 2);
+            starts[count++] = i;
+        }
+        this.cycleStarts = Arrays.copyOf(starts, count);
+    }
+
+    /**
+     * Load a recording.
+     *
+     * @param file The file written by {@link HardwareRecorder#writeTo(File)}
+     * @return The replay, positioned before the first cycle
+     * @throws IOException If the file cannot be read or is not a recording
+     */
+    public static HardwareReplay read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != HardwareRecorder.MAGIC) {
+                throw new IOException(file + " is not a hardware recording");
+            }
+            int version = in.readInt();
+            if (version != HardwareRecorder.VERSION) {
+                throw new IOException("Unsupported recording version " + version);
+            }
+            List<String> motorNames = readNames(in);
+            List<String> digitalNames = readNames(in);
+            List<String> writeNames = readNames(in);
+            int size = in.readInt();
+            long[] timestamps = new long[size];
+            short[] kinds = new short[size];
+            short[] channels = new short[size];
+            double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                timestamps[i] = in.readLong();
+                kinds[i] = in.readShort();
+                channels[i] = in.readShort();
+                values[i] = in.readDouble();
+            }
+            return new HardwareReplay(
+                    motorNames, digitalNames, writeNames, timestamps, kinds, channels, values);
+        }
+    }
+
+    private static List<String> readNames(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) names.add(in.readUTF());
+        return names;
+    }
+
+    /**
+     * @param name The name in the hardware map
+     * @return The recorded channel of the motor encoder
+     * @throws IllegalArgumentException If the motor was not recorded
+     */
+    public int motorChannel(String name) {
+        return channel(motorNames, name);
+    }
+
+    /**
+     * @param name The name in the hardware map
+     * @return The recorded channel of the digital input
+     * @throws IllegalArgumentException If the input was not recorded
+     */
+    public int digitalChannel(String name) {
+        return channel(digitalNames, name);
+    }
+
+    private static int channel(List<String> names, String name) {
+        int index = names.indexOf(name);
+        if (index < 0) throw new IllegalArgumentException(name + " was not recorded");
+        return index;
+    }
+
+    /**
+     * Move to the next recorded cycle.
+     *
+     * @return False if the recording has ended
+     */
+    public boolean next() {
+        if (cycle + 1 >= cycleStarts.length) return false;
+        cycle++;
+        return true;
+    }
+
+    /**
+     * Fill a snapshot with the reads of the current cycle. Channels not read in that cycle keep
+     * their previous values.
+     *
+     * @param snapshot The snapshot to fill
+     * @param motors Recorded channel of each snapshot motor index
+     * @param digitals Recorded channel of each snapshot digital index
+     */
+    void fill(HardwareSnapshot snapshot, int[] motors, int[] digitals) {
+        int start = cycleStarts[cycle];
+        int end = cycle + 1 < cycleStarts.length ? cycleStarts[cycle + 1] : kinds.length;
+        for (int i = start + 1; i < end; i++) {
+            int channel = channels[i];
+            switch (kinds[i]) {
+                case HardwareRecorder.POSITION:
+                    for (int m = 0; m < motors.length; m++) {
+                        if (motors[m] == channel) snapshot.positions[m] = (int) values[i];
+                    }
+                    break;
+                case HardwareRecorder.VELOCITY:
+                    for (int m = 0; m < motors.length; m++) {
+                        if (motors[m] == channel) snapshot.velocities[m] = values[i];
+                    }
+                    break;
+                case HardwareRecorder.DIGITAL:
+                    for (int d = 0; d < digitals.length; d++) {
+                        if (digitals[d] == channel) snapshot.digital[d] = values[i] != 0;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        snapshot.timestampNanos = timestamps[start];
+    }
+
+    /**
+     * @return The timestamp of the current cycle, or of the first one before {@link #next()}
+     */
+    @Override
+    public long nanoTime() {
+        if (cycleStarts.length == 0) return 0;
+        return timestamps[cycleStarts[Math.max(cycle, 0)]];
+    }
+
+    /**
+     * @return The index of the current cycle, or -1 before the first {@link #next()}
+     */
+    public int getCycle() {
+        return cycle;
+    }
+
+    /**
+     * @return The number of complete cycles in the recording
+     */
+    public int getCycleCount() {
+        return cycleStarts.length;
+    }
+
+    /**
+     * Collect every recorded write to one actuator.
+     *
+     * @param name The name in the hardware map
+     * @return Pairs of timestamp and value, in order, or an empty array if it was never written
+     */
+    public double[][] getWrites(String name) {
+        int channel = writeNames.indexOf(name);
+        int count = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            if (kinds[i] == HardwareRecorder.WRITE && channels[i] == channel) count++;
+        }
+        double[][] writes = new double[count][];
+        int n = 0;
+        for (int i = 0; i < kinds.length && n < count; i++) {
+            if (kinds[i] == HardwareRecorder.WRITE && channels[i] == channel) {
+                writes[n++] = new double[] {timestamps[i], values[i]};
+            }
+        }
+        return writes;
+    }
+}
@@ -0,0 +1,71 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import java.util.Arrays;
+
+/**
+ * Encoder positions, velocities and digital inputs captured by {@link BulkReadManager} in one
+ * loop cycle. Channels are addressed by the index returned when they were registered.
+ *
+ * <p>Consumers only get read access. The manager double-buffers snapshots, so an instance stays
+ * unchanged for the whole cycle after it was taken and is reused two cycles later; hold on to
+ * values, not the snapshot, across cycles.
+ */
+public final class HardwareSnapshot {
+    int[] positions;
+    double[] velocities;
+    boolean[] digital;
+    long cycle = -1;
+    long timestampNanos;
+
+    HardwareSnapshot(int motors, int digitals) {
+        positions = new int[motors];
+        velocities = new double[motors];
+        digital = new boolean[digitals];
+    }
+
+    void resize(int motors, int digitals) {
+        if (positions.length < motors) {
+            positions = Arrays.copyOf(positions, motors);
+            velocities = Arrays.copyOf(velocities, motors);
+        }
+        if (digital.length < digitals) digital = Arrays.copyOf(digital, digitals);
+    }
+
+    /**
+     * @param motor The motor index
+     * @return The encoder position, in ticks
+     */
+    public int getPosition(int motor) {
+        return positions[motor];
+    }
+
+    /**
+     * @param motor The motor index
+     * @return The encoder velocity, in ticks per second
+     */
+    public double getVelocity(int motor) {
+        return velocities[motor];
+    }
+
+    /**
+     * @param channel The digital channel index
+     * @return The digital input state
+     */
+    public boolean getDigital(int channel) {
+        return digital[channel];
+    }
+
+    /**
+     * @return The loop cycle this snapshot was taken in, or -1 if it was never filled
+     */
+    public long getCycle() {
+        return cycle;
+    }
+
+    /**
+     * @return When this snapshot was taken, from the {@link BulkReadManager} clock
+     */
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+}
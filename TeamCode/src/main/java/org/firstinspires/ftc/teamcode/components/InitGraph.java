@@ -0,0 +1,165 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs op mode initialization as a dependency graph instead of one step after another.
+ *
+ * <p>Each stage runs on its own thread as soon as every stage it depends on has finished, so
+ * independent work (binding hardware, loading a model, starting a camera) overlaps and the
+ * wall-clock init time approaches the longest chain of dependent stages. Dependencies must be
+ * declared before the stages that need them, which also rules out cycles. Writes made by a stage
+ * are visible to its dependents and to the caller of {@link #run()} once it returns. Stage times
+ * can also go to an {@link InitProfiler}.
+ */
+public final class InitGraph {
+    private static final class Stage {
+        final String name;
+        final Runnable work;
+        final Stage[] dependencies;
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile long startNanos;
+        volatile long endNanos;
+        volatile Throwable failure;
+
+        Stage(String name, Runnable work, Stage[] dependencies) {
+            this.name = name;
+            this.work = work;
+            this.dependencies = dependencies;
+        }
+    }
+
+    private final List<Stage> stages = new ArrayList<>();
+    private InitProfiler profiler;
+    private long startNanos;
+    private long endNanos;
+
+    /**
+     * Add a stage.
+     *
+     * @param name A unique name, shown in the timing report
+     * @param work The work to do
+     * @param dependsOn Names of stages that must finish first, all added earlier
+     * @return This graph
+     */
+    public InitGraph stage(String name, Runnable work, String... dependsOn) {
+        if (find(name) != null) throw new IllegalArgumentException("Duplicate stage " + name);
+        Stage[] dependencies = new Stage[dependsOn.length];
+        for (int i = 0; i < dependsOn.length; i++) {
+            dependencies[i] = find(dependsOn[i]);
+            if (dependencies[i] == null) {
+                throw new IllegalArgumentException(
+                        name + " depends on " + dependsOn[i] + ", which was not added before it");
+            }
+        }
+        stages.add(new Stage(name, work, dependencies));
+        return this;
+    }
+
+    /**
+     * @param profiler Where to record the time of each stage that runs, or null
+     * @return This graph
+     */
+    public InitGraph setProfiler(InitProfiler profiler) {
+        this.profiler = profiler;
+        return this;
+    }
+
+    private Stage find(String name) {
+        for (Stage stage : stages) {
+            if (stage.name.equals(name)) return stage;
+        }
+        return null;
+    }
+
+    /**
+     * Run every stage and wait for all of them. A stage whose dependency failed is skipped.
+     *
+     * @throws RuntimeException The first failure, once all stages have finished
+     */
+    public void run() {
+        startNanos = System.nanoTime();
+        List<Thread> threads = new ArrayList<>(stages.size());
+        for (Stage stage : stages) {
+            Thread thread = new Thread(() -> execute(stage), "Init " + stage.name);
+            thread.start();
+            threads.add(thread);
+        }
+        try {
+            for (Thread thread : threads) thread.join();
+        } catch (InterruptedException e) {
+            for (Thread thread : threads) thread.interrupt();
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            endNanos = System.nanoTime();
+        }
+        for (Stage stage : stages) {
+            if (stage.failure == null) continue;
+            if (stage.failure instanceof RuntimeException) throw (RuntimeException) stage.failure;
+            throw new RuntimeException("Init stage " + stage.name + " failed", stage.failure);
+        }
+    }
+
+    private void execute(Stage stage) {
+        try {
+            for (Stage dependency : stage.dependencies) {
+                dependency.done.await();
+                if (dependency.failure != null) return;
+            }
+            stage.startNanos = System.nanoTime();
+            stage.work.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            stage.failure = t;
+        } finally {
+            stage.endNanos = System.nanoTime();
+            if (profiler != null && stage.startNanos != 0) {
+                profiler.record(stage.name, stage.endNanos - stage.startNanos);
+            }
+            stage.done.countDown();
+        }
+    }
+
+    /**
+     * Add the time of each stage, the total and the wall-clock time to telemetry.
+     *
+     * @param telemetry The telemetry to add to
+     */
+    public void report(Telemetry telemetry) {
+        long sum = 0;
+        for (Stage stage : stages) {
+            long nanos = getStageNanos(stage.name);
+            sum += nanos;
+            String status = stage.failure != null ? " (failed)"
+                    : stage.startNanos == 0 ? " (skipped)" : "";
+            telemetry.addData("Init " + stage.name,
+                    String.format(Locale.US, "%.0f ms%s", nanos * 1e-6, status));
+        }
+        telemetry.addData("Init wall / sum", String.format(Locale.US, "%.0f / %.0f ms",
+                getWallNanos() * 1e-6, sum * 1e-6));
+    }
+
+    /**
+     * @param name The stage name
+     * @return How long the stage ran, in nanoseconds, or 0 if it did not run
+     */
+    public long getStageNanos(String name) {
+        Stage stage = find(name);
+        if (stage == null) throw new IllegalArgumentException("Unknown stage " + name);
+        return stage.startNanos == 0 ? 0 : stage.endNanos - stage.startNanos;
+    }
+
+    /**
+     * @return Wall-clock time of the last {@link #run()}, in nanoseconds
+     */
+    public long getWallNanos() {
+        return endNanos - startNanos;
+    }
+}
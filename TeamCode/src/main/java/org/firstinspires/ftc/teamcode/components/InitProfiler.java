@@ -0,0 +1,210 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Times the parts of op mode init and keeps a summary across runs.
+ *
+ * <pre>
+ * long start = profiler.start();
+ * imu.initialize(parameters);
+ * profiler.end("imu", start);
+ * ...
+ * profiler.save(new File(AppUtil.ROBOT_DATA_DIR, "MyOpMode_init_profile.csv"));
+ * profiler.publish(telemetry);
+ * </pre>
+ *
+ * <p>A span costs two {@link System#nanoTime()} calls and a map update; spans with the same name
+ * in one run add up. Spans may be recorded from several threads, as {@link InitGraph} stages are.
+ * {@link #save(File)} merges the run into the summary file and keeps the earlier runs it read, so
+ * {@link #publish(Telemetry)} can show each of the slowest spans next to its mean over them.
+ */
+public final class InitProfiler {
+    /**
+     * Default number of spans shown on telemetry
+     */
+    public static final int DEFAULT_TOP = 5;
+
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final String HEADER = "span,runs,total_ms,mean_ms,min_ms,max_ms,last_ms";
+
+    private static final class Stat {
+        long runs;
+        double totalMs;
+        double minMs = Double.MAX_VALUE;
+        double maxMs;
+        double lastMs;
+
+        void add(double ms) {
+            runs++;
+            totalMs += ms;
+            minMs = Math.min(minMs, ms);
+            maxMs = Math.max(maxMs, ms);
+            lastMs = ms;
+        }
+
+        Stat copy() {
+            Stat copy = new Stat();
+            copy.runs = runs;
+            copy.totalMs = totalMs;
+            copy.minMs = minMs;
+            copy.maxMs = maxMs;
+            copy.lastMs = lastMs;
+            return copy;
+        }
+    }
+
+    private final Map<String, long[]> spans = new LinkedHashMap<>();
+    /**
+     * Summary of the runs before this one, as read by the last {@link #save(File)}
+     */
+    private final Map<String, Stat> history = new LinkedHashMap<>();
+
+    /**
+     * @return The start of a span, to pass to {@link #end(String, long)}
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * End a span.
+     *
+     * @param name The span name
+     * @param start The value returned by {@link #start()}
+     */
+    public void end(String name, long start) {
+        record(name, System.nanoTime() - start);
+    }
+
+    /**
+     * Add a duration measured elsewhere.
+     *
+     * @param name The span name
+     * @param nanos The duration, in nanoseconds
+     */
+    public synchronized void record(String name, long nanos) {
+        // Names are written as a CSV field
+        name = name.replace(',', ';');
+        long[] total = spans.get(name);
+        if (total == null) {
+            total = new long[1];
+            spans.put(name, total);
+        }
+        total[0] += nanos;
+    }
+
+    /**
+     * @param name The span name
+     * @return Total time of the span in this run, in nanoseconds, or 0 if it was not recorded
+     */
+    public synchronized long getNanos(String name) {
+        long[] total = spans.get(name);
+        return total == null ? 0 : total[0];
+    }
+
+    /**
+     * Add the slowest spans of this run to telemetry, with their means over earlier runs once
+     * {@link #save(File)} has read them.
+     *
+     * @param telemetry The telemetry to add to
+     * @param top The number of spans to show
+     */
+    public synchronized void publish(Telemetry telemetry, int top) {
+        List<Map.Entry<String, long[]>> sorted = new ArrayList<>(spans.entrySet());
+        Collections.sort(sorted, (a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+        for (int i = 0; i < Math.min(top, sorted.size()); i++) {
+            String name = sorted.get(i).getKey();
+            double ms = sorted.get(i).getValue()[0] / NANOS_PER_MILLI;
+            Stat stat = history.get(name);
+            if (stat == null || stat.runs == 0) {
+                telemetry.addData("Init " + name, "%.0f ms", ms);
+            } else {
+                telemetry.addData("Init " + name, "%.0f ms, mean %.0f over %d earlier runs",
+                        ms, stat.totalMs / stat.runs, stat.runs);
+            }
+        }
+    }
+
+    /**
+     * Add the {@link #DEFAULT_TOP} slowest spans of this run to telemetry.
+     *
+     * @param telemetry The telemetry to add to
+     */
+    public void publish(Telemetry telemetry) {
+        publish(telemetry, DEFAULT_TOP);
+    }
+
+    /**
+     * Merge this run into a summary file, creating it if needed. Call once per run.
+     *
+     * @param file The summary file
+     * @throws IOException If the file cannot be read or written
+     */
+    public synchronized void save(File file) throws IOException {
+        history.clear();
+        if (file.isFile()) read(file);
+        Map<String, Stat> merged = new LinkedHashMap<>();
+        for (Map.Entry<String, Stat> entry : history.entrySet()) {
+            merged.put(entry.getKey(), entry.getValue().copy());
+        }
+        for (Map.Entry<String, long[]> span : spans.entrySet()) {
+            Stat stat = merged.get(span.getKey());
+            if (stat == null) {
+                stat = new Stat();
+                merged.put(span.getKey(), stat);
+            }
+            stat.add(span.getValue()[0] / NANOS_PER_MILLI);
+        }
+
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            out.println(HEADER);
+            for (Map.Entry<String, Stat> entry : merged.entrySet()) {
+                Stat stat = entry.getValue();
+                out.printf(Locale.US, "%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                        entry.getKey(), stat.runs, stat.totalMs,
+                        stat.totalMs / stat.runs, stat.minMs, stat.maxMs, stat.lastMs);
+            }
+        }
+    }
+
+    private void read(File file) throws IOException {
+        try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+            String line = in.readLine();
+            // A summary in another format is started over
+            if (!HEADER.equals(line)) return;
+            while ((line = in.readLine()) != null) {
+                String[] fields = line.split(",");
+                if (fields.length != 7) continue;
+                try {
+                    Stat stat = new Stat();
+                    stat.runs = Long.parseLong(fields[1]);
+                    stat.totalMs = Double.parseDouble(fields[2]);
+                    stat.minMs = Double.parseDouble(fields[4]);
+                    stat.maxMs = Double.parseDouble(fields[5]);
+                    stat.lastMs = Double.parseDouble(fields[6]);
+                    history.put(fields[0], stat);
+                } catch (NumberFormatException e) {
+                    // Skip the damaged line
+                }
+            }
+        }
+    }
+}
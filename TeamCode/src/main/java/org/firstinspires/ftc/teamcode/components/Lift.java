@@ -0,0 +1,35 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.teamcode.command.Subsystem;
+
+/**
+ * The linear slide, as driven in {@link org.firstinspires.ftc.teamcode.BasicDrive}.
+ */
+public final class Lift implements Subsystem {
+    /**
+     * Power that keeps the slide from sliding down
+     */
+    public static final double HOLD_POWER = -0.16;
+    public static final double UP_POWER = 0.4;
+    public static final double DOWN_POWER = -1.0;
+
+    private final CachingMotor slide;
+
+    public Lift(HardwareMap map, WriteStats stats) {
+        this.slide = new CachingMotor(map.get(DcMotor.class, "linearSlide"), stats);
+    }
+
+    public void setPower(double power) {
+        slide.setPower(power);
+    }
+
+    /**
+     * Hold the current height.
+     */
+    public void hold() {
+        slide.setPower(HOLD_POWER);
+    }
+}
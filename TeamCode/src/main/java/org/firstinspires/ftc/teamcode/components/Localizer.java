@@ -0,0 +1,17 @@
+package org.firstinspires.ftc.teamcode.components;
+
+/**
+ * A source of the robot's field pose. Units are inches and radians, heading counter-clockwise.
+ */
+public interface Localizer {
+    double getX();
+
+    double getY();
+
+    double getHeading();
+
+    /**
+     * Reset the pose.
+     */
+    void setPose(double x, double y, double heading);
+}
@@ -0,0 +1,185 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Control loop timing, split by phase, recorded into {@link LatencyHistogram}s.
+ *
+ * <pre>
+ * timer.startCycle();
+ * readSensors();    timer.lap(LoopTimer.Phase.READ);
+ * computeOutputs(); timer.lap(LoopTimer.Phase.COMPUTE);
+ * writeActuators(); timer.lap(LoopTimer.Phase.WRITE);
+ * timer.publish(telemetry); timer.lap(LoopTimer.Phase.TELEMETRY);
+ * timer.endCycle();
+ * </pre>
+ *
+ * <p>Each lap and cycle costs two {@link System#nanoTime()} calls and a histogram increment,
+ * so it can stay enabled in matches. Summaries go to telemetry at a low rate and to a file when
+ * the op mode ends.
+ */
+public final class LoopTimer {
+    /**
+     * Parts of a loop cycle
+     */
+    public enum Phase {
+        READ, COMPUTE, WRITE, TELEMETRY
+    }
+
+    /**
+     * Default time between telemetry summaries, in milliseconds
+     */
+    public static final long DEFAULT_PUBLISH_INTERVAL_MS = 1000;
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final LatencyHistogram cycles = new LatencyHistogram();
+    private final LatencyHistogram jitter = new LatencyHistogram();
+    private final LatencyHistogram[] phases = new LatencyHistogram[PHASES.length];
+    private final long publishIntervalNanos;
+    private long cycleStart;
+    private long lapStart;
+    private long lastPeriod = -1;
+    private long lastPublish;
+
+    public LoopTimer() {
+        this(DEFAULT_PUBLISH_INTERVAL_MS);
+    }
+
+    /**
+     * @param publishIntervalMs Minimum time between telemetry summaries, in milliseconds
+     */
+    public LoopTimer(long publishIntervalMs) {
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+        this.publishIntervalNanos = publishIntervalMs * 1_000_000L;
+    }
+
+    /**
+     * Mark the start of a cycle.
+     */
+    public void startCycle() {
+        long now = System.nanoTime();
+        cycleStart = now;
+        lapStart = now;
+    }
+
+    /**
+     * Record the time since the previous lap, or the start of the cycle, against a phase.
+     *
+     * @param phase The phase that just ended
+     */
+    public void lap(Phase phase) {
+        long now = System.nanoTime();
+        phases[phase.ordinal()].record(now - lapStart);
+        lapStart = now;
+    }
+
+    /**
+     * Mark the end of a cycle, recording its duration and the change from the previous one.
+     */
+    public void endCycle() {
+        long period = System.nanoTime() - cycleStart;
+        cycles.record(period);
+        if (lastPeriod >= 0) jitter.record(Math.abs(period - lastPeriod));
+        lastPeriod = period;
+    }
+
+    /**
+     * Add a summary to telemetry if the publish interval has passed. Does not call {@link
+     * Telemetry#update()}.
+     *
+     * @param telemetry The telemetry to add to
+     * @return True if a summary was added
+     */
+    public boolean publish(Telemetry telemetry) {
+        long now = System.nanoTime();
+        if (now - lastPublish < publishIntervalNanos) return false;
+        lastPublish = now;
+        telemetry.addData("Loop", "p50 %.1f p90 %.1f p99 %.1f max %.1f ms",
+                ms(cycles.percentile(0.5)), ms(cycles.percentile(0.9)),
+                ms(cycles.percentile(0.99)), ms(cycles.getMax()));
+        telemetry.addData("Jitter", "p50 %.1f p99 %.1f ms",
+                ms(jitter.percentile(0.5)), ms(jitter.percentile(0.99)));
+        for (Phase phase : PHASES) {
+            LatencyHistogram h = phases[phase.ordinal()];
+            if (h.getCount() == 0) continue;
+            telemetry.addData(phase.name(), "p50 %.2f p99 %.2f ms",
+                    ms(h.percentile(0.5)), ms(h.percentile(0.99)));
+        }
+        return true;
+    }
+
+    /**
+     * Write a summary of every histogram to a text file, replacing it.
+     *
+     * @param file The file to write
+     * @throws IOException If the file cannot be written
+     */
+    public void writeSummary(File file) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            out.println("series,count,mean_ms,p50_ms,p90_ms,p99_ms,max_ms");
+            summary(out, "cycle", cycles);
+            summary(out, "jitter", jitter);
+            for (Phase phase : PHASES) {
+                summary(out, phase.name().toLowerCase(Locale.US), phases[phase.ordinal()]);
+            }
+        }
+    }
+
+    private static void summary(PrintWriter out, String name, LatencyHistogram h) {
+        out.printf(Locale.US, "%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n", name, h.getCount(),
+                h.getMean() / NANOS_PER_MILLI, ms(h.percentile(0.5)), ms(h.percentile(0.9)),
+                ms(h.percentile(0.99)), ms(h.getMax()));
+    }
+
+    private static double ms(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * @return Whole-cycle durations
+     */
+    public LatencyHistogram getCycles() {
+        return cycles;
+    }
+
+    /**
+     * @return Absolute change in duration between consecutive cycles
+     */
+    public LatencyHistogram getJitter() {
+        return jitter;
+    }
+
+    /**
+     * @param phase The phase
+     * @return Durations of that phase
+     */
+    public LatencyHistogram getPhase(Phase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    /**
+     * Clear every histogram.
+     */
+    public void reset() {
+        cycles.reset();
+        jitter.reset();
+        for (LatencyHistogram h : phases) {
+            h.reset();
+        }
+        lastPeriod = -1;
+    }
+}
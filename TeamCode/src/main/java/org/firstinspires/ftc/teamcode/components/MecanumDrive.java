@@ -0,0 +1,24 @@
+package org.firstinspires.ftc.teamcode.components;
+
+/**
+ * The part of a mecanum drive that closed-loop moves need: wheel encoder positions in and chassis
+ * powers out. {@link DriveTrain} implements it on hardware, and the simulator implements it
+ * without any, so the same control code runs on both.
+ */
+public interface MecanumDrive {
+    /**
+     * Copy the wheel encoder positions.
+     *
+     * @param out Output in {@link MecanumKinematics} wheel order, in ticks
+     */
+    void getWheelPositions(int[] out);
+
+    /**
+     * Drive with wheel powers for a robot frame motion, as defined by {@link MecanumKinematics}.
+     *
+     * @param vx The forward power
+     * @param vy The leftward power
+     * @param omega The counter-clockwise power
+     */
+    void drive(double vx, double vy, double omega);
+}
@@ -0,0 +1,123 @@
+package org.firstinspires.ftc.teamcode.components;
+
+/**
+ * Mecanum drive kinematics without trig or allocation.
+ *
+ * <p>Chassis motion is expressed in the robot frame: {@code vx} forward, {@code vy} to the left
+ * and {@code omega} counter-clockwise. Wheel values are ordered {@link #FRONT_LEFT}, {@link
+ * #FRONT_RIGHT}, {@link #BACK_LEFT}, {@link #BACK_RIGHT}, positive when the wheel pushes the robot
+ * forward. Every method writes into a caller-supplied array so it can run in the control loop.
+ */
+public final class MecanumKinematics {
+    public static final int FRONT_LEFT = 0;
+    public static final int FRONT_RIGHT = 1;
+    public static final int BACK_LEFT = 2;
+    public static final int BACK_RIGHT = 3;
+
+    /**
+     * Number of wheels
+     */
+    public static final int WHEELS = 4;
+
+    /**
+     * Index of the forward component in a chassis array
+     */
+    public static final int VX = 0;
+    /**
+     * Index of the left component in a chassis array
+     */
+    public static final int VY = 1;
+    /**
+     * Index of the counter-clockwise component in a chassis array
+     */
+    public static final int OMEGA = 2;
+
+    private final double trackRadius;
+
+    /**
+     * @param trackRadius Half of track width plus wheel base, in the same length unit as the wheel
+     *                    values. Use 1 to work in normalized powers.
+     */
+    public MecanumKinematics(double trackRadius) {
+        if (trackRadius <= 0) throw new IllegalArgumentException("Track radius must be > 0");
+        this.trackRadius = trackRadius;
+    }
+
+    /**
+     * @param trackWidth Distance between the left and right wheels
+     * @param wheelBase Distance between the front and back wheels
+     * @return Kinematics for the given geometry
+     */
+    public static MecanumKinematics fromGeometry(double trackWidth, double wheelBase) {
+        return new MecanumKinematics((trackWidth + wheelBase) / 2.0);
+    }
+
+    /**
+     * @return Half of track width plus wheel base
+     */
+    public double getTrackRadius() {
+        return trackRadius;
+    }
+
+    /**
+     * Compute wheel values for a chassis motion.
+     *
+     * @param vx Forward component
+     * @param vy Left component
+     * @param omega Counter-clockwise component, in radians per unit of time
+     * @param wheels Output, at least {@link #WHEELS} long
+     */
+    public void inverse(double vx, double vy, double omega, double[] wheels) {
+        double turn = omega * trackRadius;
+        wheels[FRONT_LEFT] = vx - vy - turn;
+        wheels[FRONT_RIGHT] = vx + vy + turn;
+        wheels[BACK_LEFT] = vx + vy - turn;
+        wheels[BACK_RIGHT] = vx - vy + turn;
+    }
+
+    /**
+     * Compute the least-squares chassis motion for a set of wheel values.
+     *
+     * @param wheels Wheel values, at least {@link #WHEELS} long
+     * @param chassis Output, {@link #VX}, {@link #VY} and {@link #OMEGA}
+     */
+    public void forward(double[] wheels, double[] chassis) {
+        forward(
+                wheels[FRONT_LEFT], wheels[FRONT_RIGHT], wheels[BACK_LEFT], wheels[BACK_RIGHT],
+                chassis);
+    }
+
+    /**
+     * Compute the least-squares chassis motion for a set of wheel values.
+     *
+     * @param fl Front left
+     * @param fr Front right
+     * @param bl Back left
+     * @param br Back right
+     * @param chassis Output, {@link #VX}, {@link #VY} and {@link #OMEGA}
+     */
+    public void forward(double fl, double fr, double bl, double br, double[] chassis) {
+        chassis[VX] = (fl + fr + bl + br) * 0.25;
+        chassis[VY] = (-fl + fr + bl - br) * 0.25;
+        chassis[OMEGA] = (-fl + fr - bl + br) * 0.25 / trackRadius;
+    }
+
+    /**
+     * Scale all wheel values down uniformly so none exceeds {@code max} in magnitude. The ratio
+     * between wheels, and so the direction of travel, is preserved.
+     *
+     * @param wheels Wheel values, modified in place
+     * @param max The largest allowed magnitude
+     */
+    public static void desaturate(double[] wheels, double max) {
+        double peak = Math.max(
+                Math.max(Math.abs(wheels[FRONT_LEFT]), Math.abs(wheels[FRONT_RIGHT])),
+                Math.max(Math.abs(wheels[BACK_LEFT]), Math.abs(wheels[BACK_RIGHT])));
+        if (peak <= max) return;
+        double scale = max / peak;
+        wheels[FRONT_LEFT] *= scale;
+        wheels[FRONT_RIGHT] *= scale;
+        wheels[BACK_LEFT] *= scale;
+        wheels[BACK_RIGHT] *= scale;
+    }
+}
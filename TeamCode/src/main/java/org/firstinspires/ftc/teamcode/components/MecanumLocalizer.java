@@ -0,0 +1,91 @@
+package org.firstinspires.ftc.teamcode.components;
+
+/**
+ * Tracks the robot pose from the four drive wheel encoders using {@link MecanumKinematics}
+ * forward kinematics. Call an {@code update} method once per loop after the bulk read.
+ *
+ * <p>Mecanum rollers slip, so accuracy degrades with hard acceleration; use {@link
+ * DeadWheelLocalizer} when odometry pods are fitted.
+ */
+public final class MecanumLocalizer implements Localizer {
+    private final MecanumKinematics kinematics;
+    private final double inchesPerTick;
+    private final Odometry odometry = new Odometry();
+    private final int[] ticks = new int[MecanumKinematics.WHEELS];
+    private final int[] lastTicks = new int[MecanumKinematics.WHEELS];
+    private final double[] deltas = new double[MecanumKinematics.WHEELS];
+    private final double[] chassis = new double[3];
+    private boolean seeded;
+
+    /**
+     * @param kinematics Drive geometry, in inches
+     * @param inchesPerTick Wheel travel per encoder tick
+     */
+    public MecanumLocalizer(MecanumKinematics kinematics, double inchesPerTick) {
+        this.kinematics = kinematics;
+        this.inchesPerTick = inchesPerTick;
+    }
+
+    /**
+     * Create a localizer with the {@link DriveTrain} geometry.
+     */
+    public MecanumLocalizer() {
+        this(DriveTrain.GEOMETRY, DriveTrain.INCHES_PER_TICK);
+    }
+
+    /**
+     * Update from the latest drive train snapshot.
+     *
+     * @param driveTrain The drive train to read wheel positions from
+     */
+    public void update(DriveTrain driveTrain) {
+        driveTrain.getWheelPositions(ticks);
+        update(ticks);
+    }
+
+    /**
+     * Update from absolute encoder positions. The first call only records the starting ticks.
+     *
+     * @param wheelTicks Encoder positions in {@link MecanumKinematics} wheel order
+     */
+    public void update(int[] wheelTicks) {
+        if (!seeded) {
+            System.arraycopy(wheelTicks, 0, lastTicks, 0, MecanumKinematics.WHEELS);
+            seeded = true;
+            return;
+        }
+        for (int i = 0; i < MecanumKinematics.WHEELS; i++) {
+            deltas[i] = (wheelTicks[i] - lastTicks[i]) * inchesPerTick;
+            lastTicks[i] = wheelTicks[i];
+        }
+
+        kinematics.forward(deltas, chassis);
+        odometry.integrate(
+                chassis[MecanumKinematics.VX],
+                chassis[MecanumKinematics.VY],
+                chassis[MecanumKinematics.OMEGA]);
+    }
+
+    /**
+     * Reset the pose. Encoder history is kept, so the next update continues from here.
+     */
+    @Override
+    public void setPose(double x, double y, double heading) {
+        odometry.setPose(x, y, heading);
+    }
+
+    @Override
+    public double getX() {
+        return odometry.getX();
+    }
+
+    @Override
+    public double getY() {
+        return odometry.getY();
+    }
+
+    @Override
+    public double getHeading() {
+        return odometry.getHeading();
+    }
+}
@@ -0,0 +1,79 @@
+package org.firstinspires.ftc.teamcode.components;
+
+/**
+ * Field-relative pose integrated from robot-relative displacements.
+ *
+ * <p>The field frame has x and y in inches and heading in radians, counter-clockwise, wrapped to
+ * (-pi, pi]. Displacements are integrated along a constant-curvature arc (the SE(2) exponential
+ * map) rather than as straight segments, so fast turning while driving does not skew the pose.
+ * The pose is kept in primitive fields and updating it does not allocate.
+ */
+public final class Odometry {
+    private double x;
+    private double y;
+    private double heading;
+
+    /**
+     * Integrate a displacement measured in the robot frame since the last call.
+     *
+     * @param forward Forward displacement
+     * @param left Leftward displacement
+     * @param turn Counter-clockwise rotation, in radians
+     */
+    public void integrate(double forward, double left, double turn) {
+        double sinTerm;
+        double cosTerm;
+        if (Math.abs(turn) < 1e-6) {
+            sinTerm = 1.0 - turn * turn / 6.0;
+            cosTerm = turn / 2.0;
+        } else {
+            sinTerm = Math.sin(turn) / turn;
+            cosTerm = (1.0 - Math.cos(turn)) / turn;
+        }
+        double dx = sinTerm * forward - cosTerm * left;
+        double dy = cosTerm * forward + sinTerm * left;
+
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        x += cos * dx - sin * dy;
+        y += sin * dx + cos * dy;
+        heading = wrap(heading + turn);
+    }
+
+    /**
+     * Reset the pose.
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param heading The heading, in radians
+     */
+    public void setPose(double x, double y, double heading) {
+        this.x = x;
+        this.y = y;
+        this.heading = wrap(heading);
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getHeading() {
+        return heading;
+    }
+
+    /**
+     * Wrap an angle to (-pi, pi].
+     *
+     * @param angle The angle, in radians
+     * @return The wrapped angle, or NaN if the angle is not finite
+     */
+    public static double wrap(double angle) {
+        // Constant time for any magnitude, and NaN rather than a hang for infinities
+        double wrapped = Math.IEEEremainder(angle, 2 * Math.PI);
+        return wrapped <= -Math.PI ? wrapped + 2 * Math.PI : wrapped;
+    }
+}
@@ -0,0 +1,64 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import org.firstinspires.ftc.teamcode.motion.MotionProfile;
+
+/**
+ * A straight move along a motion profile, with feedforward from the profile and position
+ * feedback from the wheel encoders. Gains and geometry are those of {@link DriveTrain}.
+ */
+public final class ProfiledMove implements ActionScheduler.Tick {
+    private final MecanumDrive drive;
+    private final MotionProfile profile;
+    private final double ux;
+    private final double uy;
+    private final int[] start = new int[MecanumKinematics.WHEELS];
+    private final int[] ticks = new int[MecanumKinematics.WHEELS];
+    private final double[] travel = new double[MecanumKinematics.WHEELS];
+    private final double[] chassis = new double[3];
+    private final double[] setpoint = new double[3];
+
+    private ProfiledMove(MecanumDrive drive, double x, double y, MotionProfile profile) {
+        double distance = Math.hypot(x, y);
+        this.drive = drive;
+        this.profile = profile;
+        // Robot frame direction, matching the mapping in DriveTrain.move()
+        this.ux = -y / distance;
+        this.uy = -x / distance;
+    }
+
+    /**
+     * Queue a move: one step that records the starting encoder positions, then one that follows
+     * the profile. Directions follow {@link DriveTrain#move(double, double)}; a zero-length move
+     * queues nothing.
+     *
+     * @param scheduler The scheduler to queue on
+     * @param drive The drive to move
+     * @param x The strafe distance, in inches
+     * @param y The drive distance, in inches
+     * @param profile A profile over {@code hypot(x, y)}
+     */
+    public static void queue(
+            ActionScheduler scheduler, MecanumDrive drive, double x, double y,
+            MotionProfile profile) {
+        if (Math.hypot(x, y) == 0) return;
+        ProfiledMove move = new ProfiledMove(drive, x, y, profile);
+        scheduler.then(() -> drive.getWheelPositions(move.start));
+        scheduler.during(profile.getDuration() * 1000.0, move);
+    }
+
+    @Override
+    public void run(double elapsed) {
+        profile.get(elapsed, setpoint);
+        drive.getWheelPositions(ticks);
+        for (int i = 0; i < MecanumKinematics.WHEELS; i++) {
+            travel[i] = (ticks[i] - start[i]) * DriveTrain.INCHES_PER_TICK;
+        }
+        DriveTrain.GEOMETRY.forward(travel, chassis);
+        double travelled = chassis[MecanumKinematics.VX] * ux + chassis[MecanumKinematics.VY] * uy;
+        double velocity = setpoint[MotionProfile.VELOCITY]
+                + DriveTrain.K_P * (setpoint[MotionProfile.POSITION] - travelled);
+        double power =
+                DriveTrain.K_V * velocity + DriveTrain.K_A * setpoint[MotionProfile.ACCELERATION];
+        drive.drive(power * ux, power * uy, 0.0);
+    }
+}
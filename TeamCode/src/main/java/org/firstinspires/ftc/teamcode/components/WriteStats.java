@@ -0,0 +1,63 @@
+package org.firstinspires.ftc.teamcode.components;
+
+/**
+ * Counts actuator writes that were sent or suppressed by {@link CachingMotor} and {@link
+ * CachingServo}. Counters accumulate until {@link #endCycle()} is called once per loop tick.
+ */
+public final class WriteStats {
+    private int sent;
+    private int suppressed;
+    private int lastSent;
+    private int lastSuppressed;
+    private long totalSent;
+    private long totalSuppressed;
+
+    void recordSent() {
+        sent++;
+    }
+
+    void recordSuppressed() {
+        suppressed++;
+    }
+
+    /**
+     * Close the current cycle, making its counts available through {@link #getLastSent()} and
+     * {@link #getLastSuppressed()}.
+     */
+    public void endCycle() {
+        lastSent = sent;
+        lastSuppressed = suppressed;
+        totalSent += sent;
+        totalSuppressed += suppressed;
+        sent = 0;
+        suppressed = 0;
+    }
+
+    /**
+     * @return Writes sent to the hardware in the last completed cycle
+     */
+    public int getLastSent() {
+        return lastSent;
+    }
+
+    /**
+     * @return Writes suppressed in the last completed cycle
+     */
+    public int getLastSuppressed() {
+        return lastSuppressed;
+    }
+
+    /**
+     * @return Writes sent to the hardware over all completed cycles
+     */
+    public long getTotalSent() {
+        return totalSent;
+    }
+
+    /**
+     * @return Writes suppressed over all completed cycles
+     */
+    public long getTotalSuppressed() {
+        return totalSuppressed;
+    }
+}
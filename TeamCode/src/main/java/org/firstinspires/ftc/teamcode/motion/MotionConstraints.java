@@ -0,0 +1,57 @@
+package org.firstinspires.ftc.teamcode.motion;
+
+/**
+ * Kinematic limits for a one-dimensional motion profile. Units are whatever the profiled
+ * quantity uses, e.g. inches or radians, per second.
+ */
+public final class MotionConstraints {
+    public final double maxVelocity;
+    public final double maxAcceleration;
+    public final double maxJerk;
+
+    /**
+     * @param maxVelocity Maximum velocity
+     * @param maxAcceleration Maximum acceleration
+     * @param maxJerk Maximum jerk, or {@link Double#POSITIVE_INFINITY} for a trapezoidal profile
+     */
+    public MotionConstraints(double maxVelocity, double maxAcceleration, double maxJerk) {
+        if (maxVelocity <= 0) throw new IllegalArgumentException("Max velocity must be > 0");
+        if (maxAcceleration <= 0) throw new IllegalArgumentException("Max acceleration must be > 0");
+        if (maxJerk <= 0) throw new IllegalArgumentException("Max jerk must be > 0");
+        this.maxVelocity = maxVelocity;
+        this.maxAcceleration = maxAcceleration;
+        this.maxJerk = maxJerk;
+    }
+
+    public MotionConstraints(double maxVelocity, double maxAcceleration) {
+        this(maxVelocity, maxAcceleration, Double.POSITIVE_INFINITY);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MotionConstraints)) return false;
+        MotionConstraints that = (MotionConstraints) o;
+        return Double.compare(that.maxVelocity, maxVelocity) == 0
+                && Double.compare(that.maxAcceleration, maxAcceleration) == 0
+                && Double.compare(that.maxJerk, maxJerk) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hash(maxVelocity);
+        result = 31 * result + hash(maxAcceleration);
+        result = 31 * result + hash(maxJerk);
+        return result;
+    }
+
+    private static int hash(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return (int) (bits ^ (bits >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "MotionConstraints(v=" + maxVelocity + ", a=" + maxAcceleration + ", j=" + maxJerk + ")";
+    }
+}
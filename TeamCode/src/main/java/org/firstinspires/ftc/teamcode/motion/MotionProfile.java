@@ -0,0 +1,117 @@
+package org.firstinspires.ftc.teamcode.motion;
+
+/**
+ * A rest-to-rest one-dimensional motion profile made of constant-jerk segments. A trapezoidal
+ * profile has three segments with zero jerk, an S-curve up to seven.
+ *
+ * <p>Segment boundaries and the state at each boundary are precomputed, so sampling walks at
+ * most seven segments and does not allocate. Instances are immutable and shared through {@link
+ * MotionProfiles}' cache.
+ *
+ * @see MotionProfiles
+ */
+public final class MotionProfile {
+    /**
+     * Index of the position in a sampled state
+     */
+    public static final int POSITION = 0;
+    /**
+     * Index of the velocity in a sampled state
+     */
+    public static final int VELOCITY = 1;
+    /**
+     * Index of the acceleration in a sampled state
+     */
+    public static final int ACCELERATION = 2;
+
+    private final double sign;
+    private final double[] startTimes;
+    private final double[] positions;
+    private final double[] velocities;
+    private final double[] accelerations;
+    private final double[] jerks;
+    private final double duration;
+    private final double distance;
+
+    /**
+     * Build a profile from segment durations and jerks, starting at rest.
+     *
+     * @param sign 1 to move forward, -1 to move backward
+     * @param durations Duration of each segment
+     * @param jerks Jerk of each segment
+     * @param accelerationSteps Acceleration at the start of each segment
+     */
+    MotionProfile(double sign, double[] durations, double[] jerks, double[] accelerationSteps) {
+        int n = durations.length;
+        this.sign = sign;
+        this.startTimes = new double[n];
+        this.positions = new double[n];
+        this.velocities = new double[n];
+        this.accelerations = new double[n];
+        this.jerks = jerks.clone();
+
+        double t = 0;
+        double p = 0;
+        double v = 0;
+        double a = 0;
+        for (int i = 0; i < n; i++) {
+            double dt = durations[i];
+            double j = jerks[i];
+            a = accelerationSteps[i];
+            startTimes[i] = t;
+            positions[i] = p;
+            velocities[i] = v;
+            accelerations[i] = a;
+            p += v * dt + a * dt * dt / 2 + j * dt * dt * dt / 6;
+            v += a * dt + j * dt * dt / 2;
+            t += dt;
+        }
+        this.duration = t;
+        this.distance = sign * p;
+    }
+
+    /**
+     * Sample the profile.
+     *
+     * @param t Time since the start, in seconds. Clamped to the profile.
+     * @param state Output: {@link #POSITION}, {@link #VELOCITY} and {@link #ACCELERATION}
+     */
+    public void get(double t, double[] state) {
+        if (t <= 0) {
+            state[POSITION] = 0;
+            state[VELOCITY] = 0;
+            state[ACCELERATION] = 0;
+            return;
+        }
+        int n = jerks.length;
+        if (t >= duration) {
+            state[POSITION] = distance;
+            state[VELOCITY] = 0;
+            state[ACCELERATION] = 0;
+            return;
+        }
+        int i = 0;
+        while (i < n - 1 && t >= startTimes[i + 1]) i++;
+        double dt = t - startTimes[i];
+        double a = accelerations[i];
+        double j = jerks[i];
+        state[POSITION] =
+                sign * (positions[i] + velocities[i] * dt + a * dt * dt / 2 + j * dt * dt * dt / 6);
+        state[VELOCITY] = sign * (velocities[i] + a * dt + j * dt * dt / 2);
+        state[ACCELERATION] = sign * (a + j * dt);
+    }
+
+    /**
+     * @return The total time, in seconds
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return The signed distance travelled
+     */
+    public double getDistance() {
+        return distance;
+    }
+}
@@ -0,0 +1,136 @@
+package org.firstinspires.ftc.teamcode.motion;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Factory for rest-to-rest {@link MotionProfile}s. Profiles are cached by distance and
+ * constraints, so a move that repeats (every block move, every autonomous run) reuses the same
+ * precomputed segments.
+ */
+public final class MotionProfiles {
+    private static final Map<Key, MotionProfile> CACHE = new HashMap<>();
+
+    private MotionProfiles() {
+    }
+
+    private static final class Key {
+        final double distance;
+        final MotionConstraints constraints;
+        final boolean sCurve;
+
+        Key(double distance, MotionConstraints constraints, boolean sCurve) {
+            this.distance = distance;
+            this.constraints = constraints;
+            this.sCurve = sCurve;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return Double.compare(that.distance, distance) == 0
+                    && sCurve == that.sCurve
+                    && constraints.equals(that.constraints);
+        }
+
+        @Override
+        public int hashCode() {
+            long bits = Double.doubleToLongBits(distance);
+            return (31 * (int) (bits ^ (bits >>> 32)) + constraints.hashCode()) * 2 + (sCurve ? 1 : 0);
+        }
+    }
+
+    /**
+     * A profile with a constant acceleration ramp, cruise and constant deceleration ramp. Jerk
+     * limits are ignored.
+     *
+     * @param distance The signed distance
+     * @param constraints The limits
+     * @return The profile
+     */
+    public static synchronized MotionProfile trapezoidal(
+            double distance, MotionConstraints constraints) {
+        Key key = new Key(distance, constraints, false);
+        MotionProfile profile = CACHE.get(key);
+        if (profile == null) {
+            profile = buildTrapezoidal(distance, constraints);
+            CACHE.put(key, profile);
+        }
+        return profile;
+    }
+
+    /**
+     * A seven segment jerk-limited profile. Falls back to {@link #trapezoidal} when the jerk
+     * limit is infinite.
+     *
+     * @param distance The signed distance
+     * @param constraints The limits
+     * @return The profile
+     */
+    public static synchronized MotionProfile sCurve(
+            double distance, MotionConstraints constraints) {
+        if (Double.isInfinite(constraints.maxJerk)) return trapezoidal(distance, constraints);
+        Key key = new Key(distance, constraints, true);
+        MotionProfile profile = CACHE.get(key);
+        if (profile == null) {
+            profile = buildSCurve(distance, constraints);
+            CACHE.put(key, profile);
+        }
+        return profile;
+    }
+
+    /**
+     * Drop every cached profile.
+     */
+    public static synchronized void clearCache() {
+        CACHE.clear();
+    }
+
+    private static MotionProfile buildTrapezoidal(double distance, MotionConstraints c) {
+        double d = Math.abs(distance);
+        double a = c.maxAcceleration;
+        double v = Math.min(c.maxVelocity, Math.sqrt(d * a));
+        double ramp = v / a;
+        double cruise = v > 0 ? (d - v * ramp) / v : 0;
+        return new MotionProfile(
+                Math.signum(distance) >= 0 ? 1 : -1,
+                new double[]{ramp, cruise, ramp},
+                new double[]{0, 0, 0},
+                new double[]{a, 0, -a});
+    }
+
+    private static MotionProfile buildSCurve(double distance, MotionConstraints c) {
+        double d = Math.abs(distance);
+        double aMax = c.maxAcceleration;
+        double jMax = c.maxJerk;
+
+        // The speed reached by the ramp up, then the time it takes: rest to v and back uses
+        // distance v * rampTime(v), so shrink v until that fits.
+        double v = c.maxVelocity;
+        if (v * rampTime(v, aMax, jMax) > d) {
+            v = aMax * (-aMax / jMax + Math.sqrt(aMax * aMax / (jMax * jMax) + 4 * d / aMax)) / 2;
+            if (v < aMax * aMax / jMax) v = Math.pow(d * Math.sqrt(jMax) / 2, 2.0 / 3.0);
+        }
+
+        double jerkTime = Math.min(aMax / jMax, Math.sqrt(v / jMax));
+        double peak = jMax * jerkTime;
+        double constantTime = v > 0 ? Math.max(0, v / peak - jerkTime) : 0;
+        double cruise = v > 0 ? Math.max(0, (d - v * rampTime(v, aMax, jMax)) / v) : 0;
+        return new MotionProfile(
+                Math.signum(distance) >= 0 ? 1 : -1,
+                new double[]{
+                        jerkTime, constantTime, jerkTime, cruise, jerkTime, constantTime, jerkTime
+                },
+                new double[]{jMax, 0, -jMax, 0, -jMax, 0, jMax},
+                new double[]{0, peak, peak, 0, 0, -peak, -peak});
+    }
+
+    /**
+     * Time to accelerate from rest to {@code v} under acceleration and jerk limits.
+     */
+    private static double rampTime(double v, double aMax, double jMax) {
+        if (v * jMax >= aMax * aMax) return v / aMax + aMax / jMax;
+        return 2 * Math.sqrt(v / jMax);
+    }
+}
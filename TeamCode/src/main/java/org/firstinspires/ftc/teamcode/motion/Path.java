@@ -0,0 +1,125 @@
+package org.firstinspires.ftc.teamcode.motion;
+
+import org.firstinspires.ftc.teamcode.components.Odometry;
+
+/**
+ * A path resampled at uniform arc-length spacing into primitive tables, so looking up a point
+ * at a given distance is a constant-time index plus linear interpolation and does not
+ * allocate. Build one with {@link PathBuilder} during init.
+ *
+ * <p>Each sample holds position, tangent direction, signed curvature and the robot heading
+ * requested at that point. Units are inches and radians.
+ */
+public final class Path {
+    public static final int X = 0;
+    public static final int Y = 1;
+    public static final int TANGENT = 2;
+    public static final int CURVATURE = 3;
+    public static final int HEADING = 4;
+
+    /**
+     * Size of a sampled state
+     */
+    public static final int STATE_SIZE = 5;
+
+    private final double spacing;
+    private final double length;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] tangents;
+    private final double[] curvatures;
+    private final double[] headings;
+
+    Path(double spacing, double[] xs, double[] ys, double[] tangents, double[] curvatures,
+         double[] headings) {
+        if (xs.length < 2) throw new IllegalArgumentException("A path needs at least two samples");
+        this.spacing = spacing;
+        this.length = spacing * (xs.length - 1);
+        this.xs = xs;
+        this.ys = ys;
+        this.tangents = tangents;
+        this.curvatures = curvatures;
+        this.headings = headings;
+    }
+
+    /**
+     * Sample the path.
+     *
+     * @param s Distance along the path. Clamped to the path.
+     * @param state Output, indexed by {@link #X}, {@link #Y}, {@link #TANGENT}, {@link
+     *              #CURVATURE} and {@link #HEADING}
+     */
+    public void get(double s, double[] state) {
+        int last = xs.length - 1;
+        double u = Math.max(0, Math.min(s, length)) / spacing;
+        int i = Math.min((int) u, last - 1);
+        int j = i + 1;
+        double f = u - i;
+        state[X] = xs[i] + (xs[j] - xs[i]) * f;
+        state[Y] = ys[i] + (ys[j] - ys[i]) * f;
+        state[TANGENT] = tangents[i] + Odometry.wrap(tangents[j] - tangents[i]) * f;
+        state[CURVATURE] = curvatures[i] + (curvatures[j] - curvatures[i]) * f;
+        state[HEADING] = headings[i] + Odometry.wrap(headings[j] - headings[i]) * f;
+    }
+
+    /**
+     * @return The arc length
+     */
+    public double getLength() {
+        return length;
+    }
+
+    /**
+     * @return The distance between samples
+     */
+    public double getSpacing() {
+        return spacing;
+    }
+
+    /**
+     * @return The number of samples
+     */
+    public int size() {
+        return xs.length;
+    }
+
+    /**
+     * @param i The sample index
+     * @return The x coordinate of a sample
+     */
+    public double getX(int i) {
+        return xs[i];
+    }
+
+    /**
+     * @param i The sample index
+     * @return The y coordinate of a sample
+     */
+    public double getY(int i) {
+        return ys[i];
+    }
+
+    /**
+     * @param i The sample index
+     * @return The tangent direction of a sample
+     */
+    public double getTangent(int i) {
+        return tangents[i];
+    }
+
+    /**
+     * @param i The sample index
+     * @return The curvature of a sample
+     */
+    public double getCurvature(int i) {
+        return curvatures[i];
+    }
+
+    /**
+     * @param i The sample index
+     * @return The requested robot heading of a sample
+     */
+    public double getHeading(int i) {
+        return headings[i];
+    }
+}
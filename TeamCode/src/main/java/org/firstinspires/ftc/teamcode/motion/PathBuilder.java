@@ -0,0 +1,148 @@
+package org.firstinspires.ftc.teamcode.motion;
+
+import org.firstinspires.ftc.teamcode.components.Odometry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a {@link Path} from waypoints joined by {@link QuinticSpline}s. Each waypoint fixes the
+ * direction of travel through it; the robot heading is interpolated between the headings given
+ * at the waypoints, which lets a holonomic drive face one way while travelling another.
+ *
+ * <pre>
+ * Path path = new PathBuilder(0, 0, 0)
+ *         .splineTo(24, 24, Math.PI / 2)
+ *         .splineTo(24, 48, Math.PI / 2, Math.PI)
+ *         .build();
+ * </pre>
+ */
+public final class PathBuilder {
+    /**
+     * Default distance between samples of the built path, in inches
+     */
+    public static final double DEFAULT_SPACING = 0.25;
+
+    private static final int STEPS_PER_SEGMENT = 256;
+
+    private final List<QuinticSpline> splines = new ArrayList<>();
+    private final List<double[]> headingSpans = new ArrayList<>();
+    private double x;
+    private double y;
+    private double tangent;
+    private double heading;
+
+    /**
+     * Start a path at a pose, with the robot heading equal to the tangent.
+     */
+    public PathBuilder(double x, double y, double tangent) {
+        this(x, y, tangent, tangent);
+    }
+
+    /**
+     * Start a path at a position, direction of travel and robot heading.
+     */
+    public PathBuilder(double x, double y, double tangent, double heading) {
+        this.x = x;
+        this.y = y;
+        this.tangent = tangent;
+        this.heading = heading;
+    }
+
+    /**
+     * Add a segment ending at a waypoint, keeping the current robot heading.
+     */
+    public PathBuilder splineTo(double x, double y, double tangent) {
+        return splineTo(x, y, tangent, heading);
+    }
+
+    /**
+     * Add a segment ending at a waypoint.
+     *
+     * @param x The end x
+     * @param y The end y
+     * @param tangent The direction of travel at the end
+     * @param heading The robot heading at the end
+     * @return This builder
+     */
+    public PathBuilder splineTo(double x, double y, double tangent, double heading) {
+        // Scaling the end derivatives by the chord length keeps the curve from looping or
+        // flattening regardless of segment size.
+        double chord = Math.hypot(x - this.x, y - this.y);
+        if (chord == 0) throw new IllegalArgumentException("Waypoints must be distinct");
+        splines.add(new QuinticSpline(
+                this.x, chord * Math.cos(this.tangent), 0, x, chord * Math.cos(tangent), 0,
+                this.y, chord * Math.sin(this.tangent), 0, y, chord * Math.sin(tangent), 0));
+        headingSpans.add(new double[]{this.heading, Odometry.wrap(heading - this.heading)});
+        this.x = x;
+        this.y = y;
+        this.tangent = tangent;
+        this.heading = heading;
+        return this;
+    }
+
+    /**
+     * Build with {@link #DEFAULT_SPACING}.
+     */
+    public Path build() {
+        return build(DEFAULT_SPACING);
+    }
+
+    /**
+     * Build the path: integrate arc length over each segment, then resample every segment at
+     * uniform arc-length spacing.
+     *
+     * @param spacing The distance between samples
+     * @return The path
+     */
+    public Path build(double spacing) {
+        if (splines.isEmpty()) throw new IllegalStateException("A path needs at least one segment");
+        if (spacing <= 0) throw new IllegalArgumentException("Spacing must be > 0");
+
+        int segments = splines.size();
+        int steps = STEPS_PER_SEGMENT;
+        // Cumulative arc length at each fine step of each segment
+        double[] arc = new double[segments * steps + 1];
+        int k = 0;
+        for (QuinticSpline spline : splines) {
+            double px = spline.x(0);
+            double py = spline.y(0);
+            for (int i = 1; i <= steps; i++) {
+                double t = (double) i / steps;
+                double nx = spline.x(t);
+                double ny = spline.y(t);
+                arc[k + 1] = arc[k] + Math.hypot(nx - px, ny - py);
+                px = nx;
+                py = ny;
+                k++;
+            }
+        }
+        double total = arc[arc.length - 1];
+        int n = Math.max(2, (int) Math.ceil(total / spacing) + 1);
+        double actualSpacing = total / (n - 1);
+
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] tangents = new double[n];
+        double[] curvatures = new double[n];
+        double[] headings = new double[n];
+        int step = 0;
+        for (int i = 0; i < n; i++) {
+            double s = Math.min(i * actualSpacing, total);
+            while (step < arc.length - 2 && arc[step + 1] < s) step++;
+            double width = arc[step + 1] - arc[step];
+            double f = width > 0 ? (s - arc[step]) / width : 0;
+            int segment = Math.min(step / steps, segments - 1);
+            double t = ((step - segment * steps) + f) / steps;
+            QuinticSpline spline = splines.get(segment);
+            double[] span = headingSpans.get(segment);
+
+            xs[i] = spline.x(t);
+            ys[i] = spline.y(t);
+            tangents[i] = Math.atan2(spline.dy(t), spline.dx(t));
+            curvatures[i] = spline.curvature(t);
+            headings[i] = Odometry.wrap(span[0] + span[1] * t);
+        }
+        return new Path(actualSpacing, xs, ys, tangents, curvatures, headings);
+    }
+}
@@ -0,0 +1,207 @@
+package org.firstinspires.ftc.teamcode.motion;
+
+import org.firstinspires.ftc.teamcode.components.DriveTrain;
+import org.firstinspires.ftc.teamcode.components.Localizer;
+import org.firstinspires.ftc.teamcode.components.MecanumKinematics;
+import org.firstinspires.ftc.teamcode.components.Odometry;
+
+/**
+ * Holonomic pure-pursuit follower for a planned {@link Trajectory}.
+ *
+ * <p>Each tick the follower finds the path sample closest to the robot, steers towards the
+ * point a lookahead distance further along, drives at the planned speed for that position and
+ * turns towards the path's requested heading. The closest-point search starts from a cursor
+ * that only moves forward and stops as soon as the distance starts growing, so over a whole
+ * path it visits each sample about once: amortized O(1) per tick. {@link #getLastSearchSteps()}
+ * and {@link #getLastNanos()} expose the per-tick cost.
+ */
+public final class PurePursuitFollower {
+    /**
+     * Default lookahead distance, in inches
+     */
+    public static final double DEFAULT_LOOKAHEAD = 8.0;
+    /**
+     * Default angular velocity per radian of heading error
+     */
+    public static final double DEFAULT_HEADING_GAIN = 3.0;
+    /**
+     * Default distance from the end at which the path counts as finished, in inches
+     */
+    public static final double DEFAULT_TOLERANCE = 1.0;
+    /**
+     * Lowest speed commanded before the end is reached, so the robot does not stall short
+     */
+    private static final double MIN_SPEED = 4.0;
+    /**
+     * Samples the cursor may look ahead past a local minimum, to step over small bumps in the
+     * distance caused by odometry noise
+     */
+    private static final int SEARCH_SLACK = 4;
+
+    private final Trajectory trajectory;
+    private final Path path;
+    private final double lookahead;
+    private final double headingGain;
+    private final double tolerance;
+    private final double[] target = new double[Path.STATE_SIZE];
+    private final double[] command = new double[3];
+    private int cursor;
+    private boolean finished;
+    private int lastSearchSteps;
+    private int maxSearchSteps;
+    private long lastNanos;
+    private long maxNanos;
+
+    public PurePursuitFollower(
+            Trajectory trajectory, double lookahead, double headingGain, double tolerance) {
+        if (lookahead <= 0) throw new IllegalArgumentException("Lookahead must be > 0");
+        this.trajectory = trajectory;
+        this.path = trajectory.getPath();
+        this.lookahead = lookahead;
+        this.headingGain = headingGain;
+        this.tolerance = tolerance;
+    }
+
+    public PurePursuitFollower(Trajectory trajectory) {
+        this(trajectory, DEFAULT_LOOKAHEAD, DEFAULT_HEADING_GAIN, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Compute the chassis velocity for the current pose.
+     *
+     * @param x The robot x
+     * @param y The robot y
+     * @param heading The robot heading
+     * @param out Output robot frame velocity in inches and radians per second, indexed by
+     *            {@link MecanumKinematics#VX}, {@link MecanumKinematics#VY} and {@link
+     *            MecanumKinematics#OMEGA}. Zero once finished.
+     * @return True while the path is still being followed
+     */
+    public boolean update(double x, double y, double heading, double[] out) {
+        long start = System.nanoTime();
+
+        int last = path.size() - 1;
+        int steps = 0;
+        double best = distanceSquared(cursor, x, y);
+        int probe = cursor;
+        int slack = 0;
+        while (probe < last && slack < SEARCH_SLACK) {
+            probe++;
+            steps++;
+            double d = distanceSquared(probe, x, y);
+            if (d <= best) {
+                best = d;
+                cursor = probe;
+                slack = 0;
+            } else {
+                slack++;
+            }
+        }
+
+        double s = cursor * path.getSpacing();
+        double toEnd = Math.hypot(path.getX(last) - x, path.getY(last) - y);
+        if (finished || (cursor >= last - 1 && toEnd < tolerance)) {
+            finished = true;
+            out[MecanumKinematics.VX] = 0;
+            out[MecanumKinematics.VY] = 0;
+            out[MecanumKinematics.OMEGA] = 0;
+        } else {
+            path.get(s + lookahead, target);
+            double dx = target[Path.X] - x;
+            double dy = target[Path.Y] - y;
+            double distance = Math.hypot(dx, dy);
+            double speed = Math.max(trajectory.getSpeedAt(s), MIN_SPEED);
+            // Near the end the lookahead point stops at the last sample; slow down with it.
+            speed = Math.min(speed, distance / lookahead * speed);
+            double scale = distance > 1e-9 ? speed / distance : 0;
+            double cos = Math.cos(heading);
+            double sin = Math.sin(heading);
+            out[MecanumKinematics.VX] = (cos * dx + sin * dy) * scale;
+            out[MecanumKinematics.VY] = (-sin * dx + cos * dy) * scale;
+            out[MecanumKinematics.OMEGA] =
+                    headingGain * Odometry.wrap(path.getHeading(cursor) - heading);
+        }
+
+        lastSearchSteps = steps;
+        maxSearchSteps = Math.max(maxSearchSteps, steps);
+        lastNanos = System.nanoTime() - start;
+        maxNanos = Math.max(maxNanos, lastNanos);
+        return !finished;
+    }
+
+    /**
+     * Follow from a localizer and drive the drive train with feedforward powers. Stops the drive
+     * train once finished.
+     *
+     * @return True while the path is still being followed
+     */
+    public boolean update(Localizer localizer, DriveTrain driveTrain) {
+        boolean following =
+                update(localizer.getX(), localizer.getY(), localizer.getHeading(), command);
+        if (!following) {
+            driveTrain.drive(0, 0, 0);
+            return false;
+        }
+        driveTrain.drive(
+                DriveTrain.K_V * command[MecanumKinematics.VX],
+                DriveTrain.K_V * command[MecanumKinematics.VY],
+                DriveTrain.K_V * command[MecanumKinematics.OMEGA]
+                        * DriveTrain.GEOMETRY.getTrackRadius());
+        return true;
+    }
+
+    private double distanceSquared(int i, double x, double y) {
+        double dx = path.getX(i) - x;
+        double dy = path.getY(i) - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Restart from the beginning of the path.
+     */
+    public void reset() {
+        cursor = 0;
+        finished = false;
+        maxSearchSteps = 0;
+        maxNanos = 0;
+    }
+
+    /**
+     * @return Distance along the path of the closest sample
+     */
+    public double getProgress() {
+        return cursor * path.getSpacing();
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * @return Path samples examined by the closest-point search in the last tick
+     */
+    public int getLastSearchSteps() {
+        return lastSearchSteps;
+    }
+
+    /**
+     * @return Most path samples examined in one tick since the last reset
+     */
+    public int getMaxSearchSteps() {
+        return maxSearchSteps;
+    }
+
+    /**
+     * @return Time spent in the last update, in nanoseconds
+     */
+    public long getLastNanos() {
+        return lastNanos;
+    }
+
+    /**
+     * @return Longest update since the last reset, in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+}
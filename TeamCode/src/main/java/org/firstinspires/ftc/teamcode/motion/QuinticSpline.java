@@ -0,0 +1,82 @@
+package org.firstinspires.ftc.teamcode.motion;
+
+/**
+ * A two-dimensional quintic Hermite spline segment, parameterized by {@code t} in [0, 1]. Each
+ * end is fixed by its position, first derivative and second derivative, so consecutive segments
+ * join with continuous curvature.
+ */
+public final class QuinticSpline {
+    private final double[] cx = new double[6];
+    private final double[] cy = new double[6];
+
+    /**
+     * @param x0 Start x, with first and second derivatives {@code dx0} and {@code ddx0}
+     * @param y0 Start y, with first and second derivatives {@code dy0} and {@code ddy0}
+     * @param x1 End x, with first and second derivatives {@code dx1} and {@code ddx1}
+     * @param y1 End y, with first and second derivatives {@code dy1} and {@code ddy1}
+     */
+    public QuinticSpline(
+            double x0, double dx0, double ddx0, double x1, double dx1, double ddx1,
+            double y0, double dy0, double ddy0, double y1, double dy1, double ddy1) {
+        coefficients(x0, dx0, ddx0, x1, dx1, ddx1, cx);
+        coefficients(y0, dy0, ddy0, y1, dy1, ddy1, cy);
+    }
+
+    private static void coefficients(
+            double p0, double v0, double a0, double p1, double v1, double a1, double[] c) {
+        c[0] = p0;
+        c[1] = v0;
+        c[2] = a0 / 2;
+        c[3] = -10 * p0 - 6 * v0 - 1.5 * a0 + 0.5 * a1 - 4 * v1 + 10 * p1;
+        c[4] = 15 * p0 + 8 * v0 + 1.5 * a0 - a1 + 7 * v1 - 15 * p1;
+        c[5] = -6 * p0 - 3 * v0 - 0.5 * a0 + 0.5 * a1 - 3 * v1 + 6 * p1;
+    }
+
+    private static double value(double[] c, double t) {
+        return c[0] + t * (c[1] + t * (c[2] + t * (c[3] + t * (c[4] + t * c[5]))));
+    }
+
+    private static double first(double[] c, double t) {
+        return c[1] + t * (2 * c[2] + t * (3 * c[3] + t * (4 * c[4] + t * 5 * c[5])));
+    }
+
+    private static double second(double[] c, double t) {
+        return 2 * c[2] + t * (6 * c[3] + t * (12 * c[4] + t * 20 * c[5]));
+    }
+
+    public double x(double t) {
+        return value(cx, t);
+    }
+
+    public double y(double t) {
+        return value(cy, t);
+    }
+
+    public double dx(double t) {
+        return first(cx, t);
+    }
+
+    public double dy(double t) {
+        return first(cy, t);
+    }
+
+    public double ddx(double t) {
+        return second(cx, t);
+    }
+
+    public double ddy(double t) {
+        return second(cy, t);
+    }
+
+    /**
+     * @param t The parameter
+     * @return Signed curvature, positive when turning counter-clockwise
+     */
+    public double curvature(double t) {
+        double dx = dx(t);
+        double dy = dy(t);
+        double speed = Math.hypot(dx, dy);
+        if (speed < 1e-9) return 0;
+        return (dx * ddy(t) - dy * ddx(t)) / (speed * speed * speed);
+    }
+}
@@ -0,0 +1,92 @@
+package org.firstinspires.ftc.teamcode.motion;
+
+/**
+ * A {@link Path} timed by {@link VelocityPlanner}. Distance, speed and acceleration along the
+ * path are tabulated at a fixed time step, so a setpoint lookup is a constant-time index plus
+ * linear interpolation and does not allocate.
+ */
+public final class Trajectory {
+    /**
+     * Index of the distance along the path in a sampled state
+     */
+    public static final int DISTANCE = 0;
+    /**
+     * Index of the speed along the path in a sampled state
+     */
+    public static final int VELOCITY = 1;
+    /**
+     * Index of the acceleration along the path in a sampled state
+     */
+    public static final int ACCELERATION = 2;
+
+    private final Path path;
+    private final double timeStep;
+    private final double duration;
+    private final double[] distances;
+    private final double[] velocities;
+    private final double[] accelerations;
+    private final double[] pathSpeeds;
+
+    Trajectory(Path path, double timeStep, double duration, double[] distances,
+               double[] velocities, double[] accelerations, double[] pathSpeeds) {
+        this.path = path;
+        this.timeStep = timeStep;
+        this.duration = duration;
+        this.distances = distances;
+        this.velocities = velocities;
+        this.accelerations = accelerations;
+        this.pathSpeeds = pathSpeeds;
+    }
+
+    /**
+     * Sample the timing.
+     *
+     * @param t Time since the start, in seconds. Clamped to the trajectory.
+     * @param state Output, indexed by {@link #DISTANCE}, {@link #VELOCITY} and {@link
+     *              #ACCELERATION}
+     */
+    public void get(double t, double[] state) {
+        int last = distances.length - 1;
+        double u = Math.max(0, Math.min(t, duration)) / timeStep;
+        int i = Math.min((int) u, last - 1);
+        double f = Math.min(u - i, 1.0);
+        state[DISTANCE] = distances[i] + (distances[i + 1] - distances[i]) * f;
+        state[VELOCITY] = velocities[i] + (velocities[i + 1] - velocities[i]) * f;
+        state[ACCELERATION] = accelerations[i];
+    }
+
+    /**
+     * Look up the planned speed by position instead of time, for followers that track the
+     * path spatially.
+     *
+     * @param s Distance along the path. Clamped to the path.
+     * @return The planned speed at that distance
+     */
+    public double getSpeedAt(double s) {
+        int last = pathSpeeds.length - 1;
+        double u = Math.max(0, Math.min(s, path.getLength())) / path.getSpacing();
+        int i = Math.min((int) u, last - 1);
+        return pathSpeeds[i] + (pathSpeeds[i + 1] - pathSpeeds[i]) * (u - i);
+    }
+
+    /**
+     * @return The path being timed
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return The total time, in seconds
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return The time between table entries, in seconds
+     */
+    public double getTimeStep() {
+        return timeStep;
+    }
+}
@@ -0,0 +1,55 @@
+package org.firstinspires.ftc.teamcode.motion;
+
+import org.firstinspires.ftc.teamcode.components.DriveTrain;
+import org.firstinspires.ftc.teamcode.components.MecanumKinematics;
+
+/**
+ * Limits used by {@link VelocityPlanner} when timing a {@link Path}. Units are inches and
+ * seconds.
+ */
+public final class TrajectoryConstraints {
+    public final double maxVelocity;
+    public final double maxAcceleration;
+    public final double maxCentripetalAcceleration;
+    public final double maxWheelVelocity;
+    public final MecanumKinematics kinematics;
+
+    /**
+     * @param maxVelocity Maximum speed along the path
+     * @param maxAcceleration Maximum acceleration along the path
+     * @param maxCentripetalAcceleration Maximum acceleration towards the center of a curve,
+     *                                   before the wheels slide
+     * @param maxWheelVelocity Maximum surface speed of any wheel
+     * @param kinematics Drive geometry used to turn chassis motion into wheel speeds
+     */
+    public TrajectoryConstraints(
+            double maxVelocity,
+            double maxAcceleration,
+            double maxCentripetalAcceleration,
+            double maxWheelVelocity,
+            MecanumKinematics kinematics) {
+        if (maxVelocity <= 0) throw new IllegalArgumentException("Max velocity must be > 0");
+        if (maxAcceleration <= 0) throw new IllegalArgumentException("Max acceleration must be > 0");
+        if (maxCentripetalAcceleration <= 0)
+            throw new IllegalArgumentException("Max centripetal acceleration must be > 0");
+        if (maxWheelVelocity <= 0) throw new IllegalArgumentException("Max wheel velocity must be > 0");
+        this.maxVelocity = maxVelocity;
+        this.maxAcceleration = maxAcceleration;
+        this.maxCentripetalAcceleration = maxCentripetalAcceleration;
+        this.maxWheelVelocity = maxWheelVelocity;
+        this.kinematics = kinematics;
+    }
+
+    /**
+     * Constraints for the {@link DriveTrain} geometry, keeping some wheel speed in reserve for
+     * feedback corrections.
+     */
+    public static TrajectoryConstraints forDriveTrain() {
+        return new TrajectoryConstraints(
+                DriveTrain.DEFAULT_CONSTRAINTS.maxVelocity,
+                DriveTrain.DEFAULT_CONSTRAINTS.maxAcceleration,
+                40.0,
+                0.85 * DriveTrain.MAX_WHEEL_VELOCITY,
+                DriveTrain.GEOMETRY);
+    }
+}
@@ -0,0 +1,119 @@
+package org.firstinspires.ftc.teamcode.motion;
+
+import org.firstinspires.ftc.teamcode.components.MecanumKinematics;
+import org.firstinspires.ftc.teamcode.components.Odometry;
+
+/**
+ * Times a {@link Path} as fast as the {@link TrajectoryConstraints} allow.
+ *
+ * <p>Every path sample first gets a speed cap from the velocity, centripetal and per-wheel
+ * limits. A forward pass then limits how fast the robot can speed up into each sample, and a
+ * backward pass how fast it can slow down out of it; the minimum of the two is the time-optimal
+ * profile under constant acceleration between samples. The result is resampled at a fixed time
+ * step into a {@link Trajectory}.
+ */
+public final class VelocityPlanner {
+    /**
+     * Default time step of the generated table, in seconds
+     */
+    public static final double DEFAULT_TIME_STEP = 0.005;
+
+    private VelocityPlanner() {
+    }
+
+    /**
+     * Plan with {@link #DEFAULT_TIME_STEP}.
+     */
+    public static Trajectory plan(Path path, TrajectoryConstraints constraints) {
+        return plan(path, constraints, DEFAULT_TIME_STEP);
+    }
+
+    /**
+     * Plan a rest-to-rest trajectory along a path.
+     *
+     * @param path The path
+     * @param constraints The limits
+     * @param timeStep Time between entries of the generated table, in seconds
+     * @return The trajectory
+     */
+    public static Trajectory plan(Path path, TrajectoryConstraints constraints, double timeStep) {
+        if (timeStep <= 0) throw new IllegalArgumentException("Time step must be > 0");
+        int n = path.size();
+        double ds = path.getSpacing();
+        double a = constraints.maxAcceleration;
+
+        double[] v = new double[n];
+        double[] wheels = new double[MecanumKinematics.WHEELS];
+        for (int i = 0; i < n; i++) {
+            v[i] = speedLimit(path, i, ds, constraints, wheels);
+        }
+        v[0] = 0;
+        v[n - 1] = 0;
+        for (int i = 1; i < n; i++) {
+            v[i] = Math.min(v[i], Math.sqrt(v[i - 1] * v[i - 1] + 2 * a * ds));
+        }
+        for (int i = n - 2; i >= 0; i--) {
+            v[i] = Math.min(v[i], Math.sqrt(v[i + 1] * v[i + 1] + 2 * a * ds));
+        }
+
+        // Time at each sample, assuming constant acceleration between samples
+        double[] times = new double[n];
+        for (int i = 1; i < n; i++) {
+            double mean = (v[i - 1] + v[i]) / 2;
+            times[i] = times[i - 1] + (mean > 1e-9 ? ds / mean : 0);
+        }
+        double duration = times[n - 1];
+
+        int entries = Math.max(2, (int) Math.ceil(duration / timeStep) + 1);
+        double[] distances = new double[entries];
+        double[] velocities = new double[entries];
+        double[] accelerations = new double[entries];
+        int k = 0;
+        for (int e = 0; e < entries; e++) {
+            double t = Math.min(e * timeStep, duration);
+            while (k < n - 2 && times[k + 1] <= t) k++;
+            double v0 = v[k];
+            double v1 = v[k + 1];
+            double acceleration = (v1 * v1 - v0 * v0) / (2 * ds);
+            double tau = t - times[k];
+            double speed = Math.max(0, v0 + acceleration * tau);
+            double s = k * ds + v0 * tau + acceleration * tau * tau / 2;
+            distances[e] = Math.min(Math.max(s, k * ds), (k + 1) * ds);
+            velocities[e] = speed;
+            accelerations[e] = acceleration;
+        }
+        velocities[entries - 1] = 0;
+        distances[entries - 1] = path.getLength();
+        return new Trajectory(
+                path, timeStep, duration, distances, velocities, accelerations, v);
+    }
+
+    /**
+     * The highest speed allowed at a sample before acceleration limits are applied.
+     */
+    private static double speedLimit(
+            Path path, int i, double ds, TrajectoryConstraints c, double[] wheels) {
+        double limit = c.maxVelocity;
+
+        double curvature = Math.abs(path.getCurvature(i));
+        if (curvature > 1e-9) {
+            limit = Math.min(limit, Math.sqrt(c.maxCentripetalAcceleration / curvature));
+        }
+
+        // Wheel speeds per unit of path speed: the direction of travel in the robot frame plus
+        // the turn rate needed to follow the requested heading.
+        int next = Math.min(i + 1, path.size() - 1);
+        int previous = Math.max(i - 1, 0);
+        double headingRate =
+                Odometry.wrap(path.getHeading(next) - path.getHeading(previous))
+                        / ((next - previous) * ds);
+        double relative = path.getTangent(i) - path.getHeading(i);
+        c.kinematics.inverse(Math.cos(relative), Math.sin(relative), headingRate, wheels);
+        double peak = 0;
+        for (int w = 0; w < MecanumKinematics.WHEELS; w++) {
+            peak = Math.max(peak, Math.abs(wheels[w]));
+        }
+        if (peak > 1e-9) limit = Math.min(limit, c.maxWheelVelocity / peak);
+        return limit;
+    }
+}
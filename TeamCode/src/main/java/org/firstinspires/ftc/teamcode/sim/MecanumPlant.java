@@ -0,0 +1,205 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import org.firstinspires.ftc.teamcode.components.DriveTrain;
+import org.firstinspires.ftc.teamcode.components.MecanumKinematics;
+import org.firstinspires.ftc.teamcode.components.Odometry;
+
+/**
+ * Physics of the mecanum chassis, with no hardware types: wheel powers in, pose and wheel travel
+ * out. {@link MecanumSimulation} wraps it in simulated devices for a hardware map and {@link
+ * SimDrive} drives it directly.
+ *
+ * <p>Each wheel is a linear DC motor: its force falls from stall to zero as the wheel surface
+ * speed approaches the free speed for the applied power. Wheel forces are combined through the
+ * mecanum kinematics into a chassis acceleration, then Coulomb and viscous friction are applied
+ * and the pose is integrated along an arc. Wheel travel follows the wheel surface speed exactly,
+ * so the drive encoders see no slip.
+ */
+public final class MecanumPlant {
+    /**
+     * Default physics step, in seconds
+     */
+    public static final double DEFAULT_STEP = 0.001;
+    /**
+     * Chassis acceleration with every wheel at stall, in inches per second squared. About a 15 kg
+     * robot on four 312 rpm motors, and the plant {@link DriveTrain#K_A} is tuned for.
+     */
+    public static final double STALL_ACCELERATION = 500.0;
+    /**
+     * Coulomb friction deceleration, in inches per second squared
+     */
+    public static final double COULOMB_FRICTION = 8.0;
+    /**
+     * Viscous friction, per second
+     */
+    public static final double VISCOUS_FRICTION = 0.5;
+    /**
+     * Motor current at stall, in amps (goBILDA 5203 series)
+     */
+    public static final double STALL_CURRENT = 9.2;
+
+    private final VirtualClock clock = new VirtualClock();
+    private final Odometry pose = new Odometry();
+    private final MecanumKinematics kinematics = DriveTrain.GEOMETRY;
+    private final double stallAcceleration;
+    private final double[] powers = new double[MecanumKinematics.WHEELS];
+    private final double[] travel = new double[MecanumKinematics.WHEELS];
+    private final double[] currents = new double[MecanumKinematics.WHEELS];
+    private final double[] wheelSpeeds = new double[MecanumKinematics.WHEELS];
+    private final double[] wheelForces = new double[MecanumKinematics.WHEELS];
+    private final double[] acceleration = new double[3];
+    private double vx;
+    private double vy;
+    private double omega;
+
+    public MecanumPlant() {
+        this(STALL_ACCELERATION);
+    }
+
+    /**
+     * @param stallAcceleration Chassis acceleration with every wheel at stall, in inches per
+     *                          second squared
+     */
+    public MecanumPlant(double stallAcceleration) {
+        this.stallAcceleration = stallAcceleration;
+    }
+
+    /**
+     * @param wheel The wheel, in {@link MecanumKinematics} order
+     * @param power The power, positive when the wheel pushes the robot forward, clipped to [-1, 1]
+     */
+    public void setPower(int wheel, double power) {
+        powers[wheel] = Math.max(-1.0, Math.min(1.0, power));
+    }
+
+    /**
+     * Advance the plant, in sub-steps of at most {@link #DEFAULT_STEP}.
+     *
+     * @param seconds Time to advance by
+     */
+    public void step(double seconds) {
+        while (seconds > 1e-12) {
+            double dt = Math.min(seconds, DEFAULT_STEP);
+            integrate(dt);
+            seconds -= dt;
+        }
+    }
+
+    private void integrate(double dt) {
+        double freeSpeed = DriveTrain.MAX_WHEEL_VELOCITY;
+        kinematics.inverse(vx, vy, omega, wheelSpeeds);
+        for (int i = 0; i < MecanumKinematics.WHEELS; i++) {
+            double load = (powers[i] * freeSpeed - wheelSpeeds[i]) / freeSpeed;
+            wheelForces[i] = stallAcceleration * load;
+            travel[i] += wheelSpeeds[i] * dt;
+            currents[i] = Math.abs(load) * STALL_CURRENT;
+        }
+        kinematics.forward(wheelForces, acceleration);
+
+        double dx = vx * dt;
+        double dy = vy * dt;
+        double dTheta = omega * dt;
+        vx = friction(vx + acceleration[MecanumKinematics.VX] * dt, dt, COULOMB_FRICTION);
+        vy = friction(vy + acceleration[MecanumKinematics.VY] * dt, dt, COULOMB_FRICTION);
+        omega = friction(
+                omega + acceleration[MecanumKinematics.OMEGA] * dt,
+                dt,
+                COULOMB_FRICTION / kinematics.getTrackRadius());
+        pose.integrate(dx, dy, dTheta);
+        clock.advance(dt);
+    }
+
+    private static double friction(double v, double dt, double coulomb) {
+        v -= v * VISCOUS_FRICTION * dt;
+        double drop = coulomb * dt;
+        if (Math.abs(v) <= drop) return 0;
+        return v - Math.copySign(drop, v);
+    }
+
+    /**
+     * Place the robot on the field and bring it to rest. Wheel travel is kept.
+     *
+     * @param x The x position, in inches
+     * @param y The y position, in inches
+     * @param heading The heading, in radians
+     */
+    public void setPose(double x, double y, double heading) {
+        pose.setPose(x, y, heading);
+        vx = 0;
+        vy = 0;
+        omega = 0;
+    }
+
+    /**
+     * @return The clock advanced by {@link #step(double)}
+     */
+    public VirtualClock getClock() {
+        return clock;
+    }
+
+    /**
+     * @param wheel The wheel, in {@link MecanumKinematics} order
+     * @return Distance the wheel surface has travelled, in inches, positive forward
+     */
+    public double getWheelTravel(int wheel) {
+        return travel[wheel];
+    }
+
+    /**
+     * @param wheel The wheel, in {@link MecanumKinematics} order
+     * @return Wheel surface speed during the last sub-step, in inches per second
+     */
+    public double getWheelSpeed(int wheel) {
+        return wheelSpeeds[wheel];
+    }
+
+    /**
+     * @param wheel The wheel, in {@link MecanumKinematics} order
+     * @return Motor current in the last sub-step, in amps
+     */
+    public double getWheelCurrent(int wheel) {
+        return currents[wheel];
+    }
+
+    /**
+     * @return True x position, in inches
+     */
+    public double getX() {
+        return pose.getX();
+    }
+
+    /**
+     * @return True y position, in inches
+     */
+    public double getY() {
+        return pose.getY();
+    }
+
+    /**
+     * @return True heading, in radians
+     */
+    public double getHeading() {
+        return pose.getHeading();
+    }
+
+    /**
+     * @return Forward speed in the robot frame, in inches per second
+     */
+    public double getVelocityX() {
+        return vx;
+    }
+
+    /**
+     * @return Left speed in the robot frame, in inches per second
+     */
+    public double getVelocityY() {
+        return vy;
+    }
+
+    /**
+     * @return Counter-clockwise rate, in radians per second
+     */
+    public double getAngularVelocity() {
+        return omega;
+    }
+}
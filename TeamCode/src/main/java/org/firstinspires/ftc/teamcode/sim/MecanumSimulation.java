@@ -0,0 +1,171 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.teamcode.components.DriveTrain;
+import org.firstinspires.ftc.teamcode.components.MecanumKinematics;
+
+/**
+ * Headless model of the mecanum chassis on hardware devices. It owns simulated drive motors and
+ * an IMU under the names {@link DriveTrain} looks up, and moves them with a {@link MecanumPlant},
+ * so the real drive, localizer and command code can run much faster than real time. Code that
+ * only needs a {@link org.firstinspires.ftc.teamcode.components.MecanumDrive} can use {@link
+ * SimDrive} instead, which needs no hardware map.
+ *
+ * <pre>
+ * MecanumSimulation sim = new MecanumSimulation();
+ * sim.install(hardwareMap);
+ * DriveTrain driveTrain = new DriveTrain(hardwareMap, new ActionScheduler(sim.getClock()));
+ * driveTrain.queueProfiledMove(0, DriveTrain.TILE);
+ * while (driveTrain.update()) sim.step(0.01);
+ * </pre>
+ */
+public final class MecanumSimulation {
+    private static final String[] MOTOR_NAMES = new String[MecanumKinematics.WHEELS];
+    private static final double[] MOUNT = new double[MecanumKinematics.WHEELS];
+
+    static {
+        // Same swapped right-hand layout as DriveTrain; the right motors are mounted mirrored
+        MOTOR_NAMES[MecanumKinematics.FRONT_LEFT] = "frontLeft";
+        MOTOR_NAMES[MecanumKinematics.FRONT_RIGHT] = "backRight";
+        MOTOR_NAMES[MecanumKinematics.BACK_LEFT] = "backLeft";
+        MOTOR_NAMES[MecanumKinematics.BACK_RIGHT] = "frontRight";
+        MOUNT[MecanumKinematics.FRONT_LEFT] = 1;
+        MOUNT[MecanumKinematics.FRONT_RIGHT] = -1;
+        MOUNT[MecanumKinematics.BACK_LEFT] = 1;
+        MOUNT[MecanumKinematics.BACK_RIGHT] = -1;
+    }
+
+    private final MecanumPlant plant;
+    private final SimMotor[] motors = new SimMotor[MecanumKinematics.WHEELS];
+    private final SimImu imu;
+    private final double[] travel = new double[MecanumKinematics.WHEELS];
+
+    public MecanumSimulation() {
+        this(MecanumPlant.STALL_ACCELERATION);
+    }
+
+    /**
+     * @param stallAcceleration Chassis acceleration with every wheel at stall, in inches per
+     *                          second squared
+     */
+    public MecanumSimulation(double stallAcceleration) {
+        this.plant = new MecanumPlant(stallAcceleration);
+        this.imu = new SimImu(plant.getClock());
+        double maxTicksPerSecond = DriveTrain.MAX_WHEEL_VELOCITY / DriveTrain.INCHES_PER_TICK;
+        for (int i = 0; i < MecanumKinematics.WHEELS; i++) {
+            motors[i] = new SimMotor(MOTOR_NAMES[i], i, maxTicksPerSecond);
+        }
+    }
+
+    /**
+     * Register the simulated devices in a hardware map, under the names the drive code uses. The
+     * IMU is registered as {@code "imu"}.
+     *
+     * @param map The hardware map to fill
+     */
+    public void install(HardwareMap map) {
+        for (int i = 0; i < MecanumKinematics.WHEELS; i++) {
+            map.put(MOTOR_NAMES[i], motors[i]);
+        }
+        map.put("imu", imu);
+    }
+
+    /**
+     * Advance the simulation, in sub-steps of at most {@link MecanumPlant#DEFAULT_STEP}. Motor
+     * powers are read once, at the start.
+     *
+     * @param seconds Simulated time to advance by
+     */
+    public void step(double seconds) {
+        for (int i = 0; i < MecanumKinematics.WHEELS; i++) {
+            plant.setPower(i, MOUNT[i] * motors[i].appliedPower());
+            travel[i] = plant.getWheelTravel(i);
+        }
+        plant.step(seconds);
+        for (int i = 0; i < MecanumKinematics.WHEELS; i++) {
+            double ticks = (plant.getWheelTravel(i) - travel[i]) / DriveTrain.INCHES_PER_TICK;
+            double ticksPerSecond = plant.getWheelSpeed(i) / DriveTrain.INCHES_PER_TICK;
+            motors[i].advance(
+                    MOUNT[i] * ticks, MOUNT[i] * ticksPerSecond, plant.getWheelCurrent(i));
+        }
+        imu.set(plant.getHeading(), plant.getAngularVelocity());
+    }
+
+    /**
+     * Place the robot on the field and bring it to rest.
+     *
+     * @param x The x position, in inches
+     * @param y The y position, in inches
+     * @param heading The heading, in radians
+     */
+    public void setPose(double x, double y, double heading) {
+        plant.setPose(x, y, heading);
+        imu.set(plant.getHeading(), 0);
+    }
+
+    public VirtualClock getClock() {
+        return plant.getClock();
+    }
+
+    /**
+     * @return The chassis physics
+     */
+    public MecanumPlant getPlant() {
+        return plant;
+    }
+
+    public SimImu getImu() {
+        return imu;
+    }
+
+    /**
+     * @param wheel The wheel, in {@link MecanumKinematics} order
+     * @return The motor driving that wheel
+     */
+    public SimMotor getMotor(int wheel) {
+        return motors[wheel];
+    }
+
+    /**
+     * @return True x position, in inches
+     */
+    public double getX() {
+        return plant.getX();
+    }
+
+    /**
+     * @return True y position, in inches
+     */
+    public double getY() {
+        return plant.getY();
+    }
+
+    /**
+     * @return True heading, in radians
+     */
+    public double getHeading() {
+        return plant.getHeading();
+    }
+
+    /**
+     * @return Forward speed in the robot frame, in inches per second
+     */
+    public double getVelocityX() {
+        return plant.getVelocityX();
+    }
+
+    /**
+     * @return Left speed in the robot frame, in inches per second
+     */
+    public double getVelocityY() {
+        return plant.getVelocityY();
+    }
+
+    /**
+     * @return Counter-clockwise rate, in radians per second
+     */
+    public double getAngularVelocity() {
+        return plant.getAngularVelocity();
+    }
+}
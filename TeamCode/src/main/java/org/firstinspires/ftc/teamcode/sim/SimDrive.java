@@ -0,0 +1,75 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import org.firstinspires.ftc.teamcode.components.ActionScheduler;
+import org.firstinspires.ftc.teamcode.components.DriveTrain;
+import org.firstinspires.ftc.teamcode.components.MecanumDrive;
+import org.firstinspires.ftc.teamcode.components.MecanumKinematics;
+
+/**
+ * A {@link MecanumDrive} on a {@link MecanumPlant}, with no hardware map or SDK devices, so
+ * control code written against {@link MecanumDrive} runs on a plain JVM.
+ *
+ * <pre>
+ * SimDrive drive = new SimDrive(new MecanumPlant());
+ * ActionScheduler scheduler = new ActionScheduler(drive.getPlant().getClock());
+ * ProfiledMove.queue(scheduler, drive, 0, DriveTrain.TILE, profile);
+ * drive.run(scheduler, 0.01, 5.0);
+ * </pre>
+ */
+public final class SimDrive implements MecanumDrive {
+    private static final MecanumKinematics KINEMATICS = new MecanumKinematics(1.0);
+
+    private final MecanumPlant plant;
+    private final double[] wheels = new double[MecanumKinematics.WHEELS];
+
+    public SimDrive(MecanumPlant plant) {
+        this.plant = plant;
+    }
+
+    /**
+     * Encoder positions with the {@link DriveTrain} wheel travel per tick.
+     */
+    @Override
+    public void getWheelPositions(int[] out) {
+        for (int i = 0; i < MecanumKinematics.WHEELS; i++) {
+            out[i] = (int) Math.round(plant.getWheelTravel(i) / DriveTrain.INCHES_PER_TICK);
+        }
+    }
+
+    /**
+     * Wheel powers as {@link DriveTrain#drive(double, double, double)} computes them.
+     */
+    @Override
+    public void drive(double vx, double vy, double omega) {
+        KINEMATICS.inverse(vx, vy, omega, wheels);
+        MecanumKinematics.desaturate(wheels, 1.0);
+        for (int i = 0; i < MecanumKinematics.WHEELS; i++) plant.setPower(i, wheels[i]);
+    }
+
+    /**
+     * Run a control loop: update the scheduler, then advance the plant by one period, until the
+     * scheduler is idle or the timeout passes. The wheels are stopped at the end.
+     *
+     * @param scheduler A scheduler on the plant's clock
+     * @param period The loop period, in seconds
+     * @param timeout The longest time to run, in seconds
+     * @return True if the scheduler became idle before the timeout
+     */
+    public boolean run(ActionScheduler scheduler, double period, double timeout) {
+        double end = plant.getClock().seconds() + timeout;
+        boolean busy = scheduler.update();
+        while (busy && plant.getClock().seconds() < end) {
+            plant.step(period);
+            busy = scheduler.update();
+        }
+        drive(0, 0, 0);
+        return !busy;
+    }
+
+    /**
+     * @return The plant this drive moves
+     */
+    public MecanumPlant getPlant() {
+        return plant;
+    }
+}
@@ -0,0 +1,103 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import com.qualcomm.robotcore.hardware.IMU;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.AngularVelocity;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesOrder;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesReference;
+import org.firstinspires.ftc.robotcore.external.navigation.Orientation;
+import org.firstinspires.ftc.robotcore.external.navigation.Quaternion;
+import org.firstinspires.ftc.robotcore.external.navigation.YawPitchRollAngles;
+
+/**
+ * An {@link IMU} that reports the simulated chassis heading. The robot is assumed to stay flat,
+ * so pitch and roll are always zero.
+ */
+public final class SimImu implements IMU {
+    private final VirtualClock clock;
+    private double heading;
+    private double omega;
+    private double yawOffset;
+
+    public SimImu(VirtualClock clock) {
+        this.clock = clock;
+    }
+
+    void set(double heading, double omega) {
+        this.heading = heading;
+        this.omega = omega;
+    }
+
+    private double yaw() {
+        return AngleUnit.normalizeRadians(heading - yawOffset);
+    }
+
+    @Override
+    public boolean initialize(Parameters parameters) {
+        return true;
+    }
+
+    @Override
+    public void resetYaw() {
+        yawOffset = heading;
+    }
+
+    @Override
+    public YawPitchRollAngles getRobotYawPitchRollAngles() {
+        return new YawPitchRollAngles(AngleUnit.RADIANS, yaw(), 0, 0, clock.nanoTime());
+    }
+
+    @Override
+    public Orientation getRobotOrientation(
+            AxesReference reference, AxesOrder order, AngleUnit angleUnit) {
+        return new Orientation(
+                        AxesReference.INTRINSIC, AxesOrder.ZYX, AngleUnit.RADIANS,
+                        (float) yaw(), 0, 0, clock.nanoTime())
+                .toAxesReference(reference)
+                .toAxesOrder(order)
+                .toAngleUnit(angleUnit);
+    }
+
+    @Override
+    public Quaternion getRobotOrientationAsQuaternion() {
+        double half = yaw() / 2;
+        return new Quaternion(
+                (float) Math.cos(half), 0, 0, (float) Math.sin(half), clock.nanoTime());
+    }
+
+    @Override
+    public AngularVelocity getRobotAngularVelocity(AngleUnit angleUnit) {
+        return new AngularVelocity(
+                angleUnit, 0, 0, (float) angleUnit.fromRadians(omega), clock.nanoTime());
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return "Simulated IMU";
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "sim:imu";
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void resetDeviceConfigurationForOpMode() {
+        yawOffset = 0;
+    }
+
+    @Override
+    public void close() {
+    }
+}
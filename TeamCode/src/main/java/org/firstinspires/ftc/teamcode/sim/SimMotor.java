@@ -0,0 +1,299 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import com.qualcomm.robotcore.hardware.DcMotorController;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.PIDCoefficients;
+import com.qualcomm.robotcore.hardware.PIDFCoefficients;
+import com.qualcomm.robotcore.hardware.configuration.typecontainers.MotorConfigurationType;
+import com.qualcomm.robotcore.util.Range;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.CurrentUnit;
+
+/**
+ * A {@link DcMotorEx} whose shaft is moved by {@link MecanumSimulation}. Power, direction and
+ * encoder behave like a real motor; closed-loop modes are treated as open loop, and {@link
+ * #setVelocity(double)} is turned into the matching power.
+ */
+public final class SimMotor implements DcMotorEx {
+    private final String name;
+    private final int port;
+    private final double maxTicksPerSecond;
+    private Direction direction = Direction.FORWARD;
+    private RunMode mode = RunMode.RUN_WITHOUT_ENCODER;
+    private ZeroPowerBehavior zeroPowerBehavior = ZeroPowerBehavior.BRAKE;
+    private MotorConfigurationType motorType = MotorConfigurationType.getUnspecifiedMotorType();
+    private PIDFCoefficients velocityPidf = new PIDFCoefficients(10, 3, 0, 0);
+    private PIDFCoefficients positionPidf = new PIDFCoefficients(5, 0, 0, 0);
+    private boolean enabled = true;
+    private double power;
+    private int targetPosition;
+    private int targetTolerance = 5;
+    private double currentAlert = 5.0;
+    private double ticks;
+    private double ticksPerSecond;
+    private double current;
+    private int zero;
+
+    /**
+     * @param name The device name
+     * @param port The motor port
+     * @param maxTicksPerSecond Encoder speed at full power
+     */
+    public SimMotor(String name, int port, double maxTicksPerSecond) {
+        this.name = name;
+        this.port = port;
+        this.maxTicksPerSecond = maxTicksPerSecond;
+    }
+
+    private int sign() {
+        return direction == Direction.REVERSE ? -1 : 1;
+    }
+
+    /**
+     * @return The power actually applied to the shaft, after direction and enable state
+     */
+    double appliedPower() {
+        return enabled ? sign() * power : 0.0;
+    }
+
+    /**
+     * Move the shaft, in raw encoder ticks.
+     */
+    void advance(double rawTicks, double rawTicksPerSecond, double amps) {
+        ticks += rawTicks;
+        ticksPerSecond = rawTicksPerSecond;
+        current = amps;
+    }
+
+    @Override
+    public void setPower(double power) {
+        this.power = Range.clip(power, -1.0, 1.0);
+    }
+
+    @Override
+    public double getPower() {
+        return power;
+    }
+
+    @Override
+    public void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+
+    @Override
+    public Direction getDirection() {
+        return direction;
+    }
+
+    @Override
+    public int getCurrentPosition() {
+        return sign() * ((int) Math.round(ticks) - zero);
+    }
+
+    @Override
+    public double getVelocity() {
+        return sign() * ticksPerSecond;
+    }
+
+    @Override
+    public double getVelocity(AngleUnit unit) {
+        double ticksPerRev = motorType.getTicksPerRev() > 0 ? motorType.getTicksPerRev() : 1;
+        return unit.fromRadians(getVelocity() / ticksPerRev * 2 * Math.PI);
+    }
+
+    @Override
+    public void setVelocity(double angularRate) {
+        setPower(angularRate / maxTicksPerSecond);
+    }
+
+    @Override
+    public void setVelocity(double angularRate, AngleUnit unit) {
+        double ticksPerRev = motorType.getTicksPerRev() > 0 ? motorType.getTicksPerRev() : 1;
+        setVelocity(unit.toRadians(angularRate) / (2 * Math.PI) * ticksPerRev);
+    }
+
+    @Override
+    public void setMode(RunMode mode) {
+        if (mode == RunMode.STOP_AND_RESET_ENCODER) {
+            zero = (int) Math.round(ticks);
+            power = 0;
+        }
+        this.mode = mode;
+    }
+
+    @Override
+    public RunMode getMode() {
+        return mode;
+    }
+
+    @Override
+    public void setZeroPowerBehavior(ZeroPowerBehavior zeroPowerBehavior) {
+        this.zeroPowerBehavior = zeroPowerBehavior;
+    }
+
+    @Override
+    public ZeroPowerBehavior getZeroPowerBehavior() {
+        return zeroPowerBehavior;
+    }
+
+    @Override
+    @Deprecated
+    public void setPowerFloat() {
+        zeroPowerBehavior = ZeroPowerBehavior.FLOAT;
+        power = 0;
+    }
+
+    @Override
+    public boolean getPowerFloat() {
+        return zeroPowerBehavior == ZeroPowerBehavior.FLOAT && power == 0;
+    }
+
+    @Override
+    public void setTargetPosition(int position) {
+        targetPosition = position;
+    }
+
+    @Override
+    public int getTargetPosition() {
+        return targetPosition;
+    }
+
+    @Override
+    public boolean isBusy() {
+        return mode == RunMode.RUN_TO_POSITION
+                && Math.abs(getCurrentPosition() - targetPosition) > targetTolerance;
+    }
+
+    @Override
+    public MotorConfigurationType getMotorType() {
+        return motorType;
+    }
+
+    @Override
+    public void setMotorType(MotorConfigurationType motorType) {
+        this.motorType = motorType;
+    }
+
+    @Override
+    public DcMotorController getController() {
+        return null;
+    }
+
+    @Override
+    public int getPortNumber() {
+        return port;
+    }
+
+    @Override
+    public void setMotorEnable() {
+        enabled = true;
+    }
+
+    @Override
+    public void setMotorDisable() {
+        enabled = false;
+    }
+
+    @Override
+    public boolean isMotorEnabled() {
+        return enabled;
+    }
+
+    @Override
+    @Deprecated
+    public void setPIDCoefficients(RunMode mode, PIDCoefficients pidCoefficients) {
+        setPIDFCoefficients(mode, new PIDFCoefficients(
+                pidCoefficients.p, pidCoefficients.i, pidCoefficients.d, 0));
+    }
+
+    @Override
+    public void setPIDFCoefficients(RunMode mode, PIDFCoefficients pidfCoefficients) {
+        if (mode == RunMode.RUN_TO_POSITION) positionPidf = pidfCoefficients;
+        else velocityPidf = pidfCoefficients;
+    }
+
+    @Override
+    public void setVelocityPIDFCoefficients(double p, double i, double d, double f) {
+        velocityPidf = new PIDFCoefficients(p, i, d, f);
+    }
+
+    @Override
+    public void setPositionPIDFCoefficients(double p) {
+        positionPidf = new PIDFCoefficients(p, 0, 0, 0);
+    }
+
+    @Override
+    @Deprecated
+    public PIDCoefficients getPIDCoefficients(RunMode mode) {
+        PIDFCoefficients pidf = getPIDFCoefficients(mode);
+        return new PIDCoefficients(pidf.p, pidf.i, pidf.d);
+    }
+
+    @Override
+    public PIDFCoefficients getPIDFCoefficients(RunMode mode) {
+        return mode == RunMode.RUN_TO_POSITION ? positionPidf : velocityPidf;
+    }
+
+    @Override
+    public void setTargetPositionTolerance(int tolerance) {
+        targetTolerance = tolerance;
+    }
+
+    @Override
+    public int getTargetPositionTolerance() {
+        return targetTolerance;
+    }
+
+    @Override
+    public double getCurrent(CurrentUnit unit) {
+        return unit == CurrentUnit.MILLIAMPS ? current * 1000 : current;
+    }
+
+    @Override
+    public double getCurrentAlert(CurrentUnit unit) {
+        return unit == CurrentUnit.MILLIAMPS ? currentAlert * 1000 : currentAlert;
+    }
+
+    @Override
+    public void setCurrentAlert(double current, CurrentUnit unit) {
+        currentAlert = unit == CurrentUnit.MILLIAMPS ? current / 1000 : current;
+    }
+
+    @Override
+    public boolean isOverCurrent() {
+        return current > currentAlert;
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return "Simulated motor";
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "sim:" + name;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void resetDeviceConfigurationForOpMode() {
+        direction = Direction.FORWARD;
+        mode = RunMode.RUN_WITHOUT_ENCODER;
+        power = 0;
+    }
+
+    @Override
+    public void close() {
+        power = 0;
+    }
+}
@@ -0,0 +1,31 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import org.firstinspires.ftc.teamcode.components.ActionScheduler;
+
+/**
+ * A clock that only moves when the simulation advances it, so simulated time can run much
+ * faster than real time. Pass it wherever a component takes an {@link ActionScheduler.Clock}.
+ */
+public final class VirtualClock implements ActionScheduler.Clock {
+    private long nanos;
+
+    @Override
+    public long nanoTime() {
+        return nanos;
+    }
+
+    /**
+     * @param seconds Time to advance by
+     */
+    public void advance(double seconds) {
+        if (seconds < 0) throw new IllegalArgumentException("Time cannot go backwards");
+        nanos += (long) (seconds * 1e9);
+    }
+
+    /**
+     * @return Simulated time since start, in seconds
+     */
+    public double seconds() {
+        return nanos * 1e-9;
+    }
+}
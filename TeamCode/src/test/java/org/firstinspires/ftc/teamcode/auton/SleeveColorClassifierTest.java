@@ -0,0 +1,155 @@
+package org.firstinspires.ftc.teamcode.auton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+
+import javax.imageio.ImageIO;
+
+public class SleeveColorClassifierTest {
+    private static final int WIDTH = 90;
+    private static final int HEIGHT = 60;
+    private static final int GREY = 0xff808080;
+
+    private final SleeveColorClassifier classifier = new SleeveColorClassifier();
+
+    /**
+     * @param hue OpenCV hue, in [0, 180)
+     * @param saturation In [0, 255]
+     * @param value In [0, 255]
+     */
+    private static int hsv(int hue, int saturation, int value) {
+        return Color.HSBtoRGB(hue / 180f, saturation / 255f, value / 255f);
+    }
+
+    private static int[] frame(int background) {
+        int[] argb = new int[WIDTH * HEIGHT];
+        Arrays.fill(argb, background);
+        return argb;
+    }
+
+    private static void fill(int[] argb, int left, int top, int right, int bottom, int color) {
+        for (int y = top; y < bottom; y++) {
+            for (int x = left; x < right; x++) argb[y * WIDTH + x] = color;
+        }
+    }
+
+    /**
+     * Fill the whole default ROI, the middle third of the frame.
+     */
+    private static int[] roiPatch(int color) {
+        int[] argb = frame(GREY);
+        fill(argb, WIDTH / 3, HEIGHT / 3, 2 * WIDTH / 3, 2 * HEIGHT / 3, color);
+        return argb;
+    }
+
+    @Test
+    public void classifiesEachDefaultColor() {
+        int[] hues = {27, 92, 155};
+        for (int i = 0; i < hues.length; i++) {
+            SleeveColorClassifier.Result result =
+                    classifier.classify(roiPatch(hsv(hues[i], 200, 200)), WIDTH, HEIGHT);
+            assertEquals(SleeveColorClassifier.DEFAULT_RANGES[i].getLabel(), result.getLabel());
+            assertEquals(1.0, result.getFraction(), 1e-9);
+            assertEquals(1.0, result.getConfidence(), 1e-9);
+        }
+    }
+
+    @Test
+    public void greyFrameHasNoDecision() {
+        SleeveColorClassifier.Result result = classifier.classify(frame(GREY), WIDTH, HEIGHT);
+        assertNull(result.getLabel());
+        assertEquals(0, result.getFraction(), 0);
+        assertEquals(0, result.getConfidence(), 0);
+    }
+
+    @Test
+    public void dullOrDarkColorHasNoDecision() {
+        assertNull(classifier.classify(roiPatch(hsv(27, 60, 200)), WIDTH, HEIGHT).getLabel());
+        assertNull(classifier.classify(roiPatch(hsv(27, 200, 40)), WIDTH, HEIGHT).getLabel());
+    }
+
+    @Test
+    public void smallPatchBelowMinFractionHasNoDecision() {
+        int[] argb = frame(GREY);
+        // 4 x 2 pixels of a 30 x 20 ROI
+        fill(argb, 40, 25, 44, 27, hsv(92, 200, 200));
+        SleeveColorClassifier.Result result = classifier.classify(argb, WIDTH, HEIGHT);
+        assertNull(result.getLabel());
+        assertEquals(8 / 600.0, result.getFraction(), 1e-9);
+    }
+
+    @Test
+    public void colorOutsideRoiIsIgnored() {
+        int[] argb = frame(hsv(155, 200, 200));
+        fill(argb, WIDTH / 3, HEIGHT / 3, 2 * WIDTH / 3, 2 * HEIGHT / 3, GREY);
+        assertNull(classifier.classify(argb, WIDTH, HEIGHT).getLabel());
+    }
+
+    @Test
+    public void largestColorWinsWithItsShareAsConfidence() {
+        int[] argb = frame(GREY);
+        // ROI is x in [30, 60), y in [20, 40): 18 columns yellow, 12 columns cyan
+        fill(argb, 30, 20, 48, 40, hsv(27, 200, 200));
+        fill(argb, 48, 20, 60, 40, hsv(92, 200, 200));
+        SleeveColorClassifier.Result result = classifier.classify(argb, WIDTH, HEIGHT);
+        assertEquals(SleeveColorClassifier.DEFAULT_RANGES[0].getLabel(), result.getLabel());
+        assertEquals(0.6, result.getFraction(), 1e-9);
+        assertEquals(0.6, result.getConfidence(), 1e-9);
+    }
+
+    @Test
+    public void hueRangeWrapsAroundForReds() {
+        SleeveColorClassifier red = new SleeveColorClassifier(
+                new SleeveColorClassifier.ColorRange[] {
+                        new SleeveColorClassifier.ColorRange("red", 170, 10, 100, 80),
+                },
+                0.1, 0, 0, 1, 1);
+        assertEquals("red", red.classify(frame(hsv(175, 200, 200)), WIDTH, HEIGHT).getLabel());
+        assertEquals("red", red.classify(frame(hsv(5, 200, 200)), WIDTH, HEIGHT).getLabel());
+        assertNull(red.classify(frame(hsv(90, 200, 200)), WIDTH, HEIGHT).getLabel());
+    }
+
+    /**
+     * Frames under {@code src/test/resources/sleeve}, in a folder named after their label, or
+     * {@code none} when no sleeve should be found. The same layout as the vision benchmark reads,
+     * so recorded frames can be added alongside.
+     */
+    @Test
+    public void classifiesStoredFrames() throws IOException, URISyntaxException {
+        File root = new File(getClass().getResource("/sleeve").toURI());
+        File[] folders = root.listFiles(File::isDirectory);
+        assertNotNull(folders);
+        int frames = 0;
+        for (File folder : folders) {
+            String expected = folder.getName().equals("none") ? null : folder.getName();
+            File[] files = folder.listFiles((dir, name) -> name.endsWith(".png"));
+            assertNotNull(files);
+            for (File file : files) {
+                BufferedImage image = ImageIO.read(file);
+                int width = image.getWidth();
+                int height = image.getHeight();
+                int[] argb = image.getRGB(0, 0, width, height, null, 0, width);
+                assertEquals(folder.getName() + "/" + file.getName(),
+                        expected, classifier.classify(argb, width, height).getLabel());
+                frames++;
+            }
+        }
+        assertTrue(frames >= 8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyRoi() {
+        new SleeveColorClassifier(SleeveColorClassifier.DEFAULT_RANGES, 0.1, 0.5, 0, 0.5, 1);
+    }
+}
@@ -0,0 +1,123 @@
+package org.firstinspires.ftc.teamcode.command;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.firstinspires.ftc.teamcode.auton.SleeveDetector;
+import org.firstinspires.ftc.teamcode.auton.SleeveVoter;
+import org.firstinspires.ftc.teamcode.auton.VisionChannel;
+import org.firstinspires.ftc.teamcode.components.ActionScheduler;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+
+public class DetectSleeveCommandTest {
+    private static final String[] LABELS = {"1 Bolt", "2 Bulb", "3 Panel"};
+
+    private static final class FakeClock implements ActionScheduler.Clock {
+        long nanos;
+
+        @Override
+        public long nanoTime() {
+            return nanos;
+        }
+    }
+
+    /**
+     * Serves one queued label per poll; an empty queue means no new frame.
+     */
+    private static final class FakeDetector implements SleeveDetector {
+        final ArrayDeque<String> frames = new ArrayDeque<>();
+        int polls;
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public boolean poll(SleeveVoter voter) {
+            polls++;
+            String label = frames.poll();
+            if (label == null) return false;
+            voter.addFrame(label, 0.9);
+            return true;
+        }
+
+        @Override
+        public VisionChannel<?> getChannel() {
+            return null;
+        }
+
+        @Override
+        public String getError() {
+            return null;
+        }
+
+        @Override
+        public double getLastFrameMs() {
+            return Double.NaN;
+        }
+
+        @Override
+        public String getStatus() {
+            return null;
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+
+    private final FakeClock clock = new FakeClock();
+    private final FakeDetector detector = new FakeDetector();
+    private final SleeveVoter voter = new SleeveVoter(LABELS, LABELS[1], 10, 3, 1.5, 1000, clock);
+    private final DetectSleeveCommand command = new DetectSleeveCommand(detector, voter);
+
+    private int run(int maxTicks) {
+        command.initialize();
+        int ticks = 0;
+        while (!command.isFinished() && ticks < maxTicks) {
+            command.execute();
+            clock.nanos += 10_000_000L;
+            ticks++;
+        }
+        command.end(!command.isFinished());
+        return ticks;
+    }
+
+    @Test
+    public void finishesOnClearDecision() {
+        for (int i = 0; i < 5; i++) detector.frames.add(LABELS[2]);
+        int ticks = run(100);
+        assertEquals(3, ticks);
+        assertEquals(LABELS[2], voter.getDecision());
+        assertFalse(voter.isTimedOut());
+    }
+
+    @Test
+    public void finishesOnTimeoutWithFallback() {
+        int ticks = run(1000);
+        assertTrue(command.isFinished());
+        assertEquals(101, ticks);
+        assertEquals(LABELS[1], voter.getDecision());
+        assertTrue(voter.isTimedOut());
+    }
+
+    @Test
+    public void decisionMadeDuringInitFinishesImmediately() {
+        voter.setRolling(true);
+        for (int i = 0; i < 3; i++) voter.addFrame(LABELS[0], 0.9);
+        assertEquals(0, run(100));
+        assertEquals(0, detector.polls);
+        assertEquals(LABELS[0], voter.getDecision());
+    }
+
+    @Test
+    public void interruptDecidesOnLeader() {
+        detector.frames.add(LABELS[2]);
+        run(5);
+        assertFalse(command.isFinished());
+        assertEquals(LABELS[2], voter.getDecision());
+    }
+}
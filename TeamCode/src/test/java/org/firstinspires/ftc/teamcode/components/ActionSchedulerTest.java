@@ -0,0 +1,129 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ActionSchedulerTest {
+    private static final class FakeClock implements ActionScheduler.Clock {
+        long nanos;
+
+        @Override
+        public long nanoTime() {
+            return nanos;
+        }
+
+        void advanceMs(long ms) {
+            nanos += ms * 1_000_000L;
+        }
+    }
+
+    private FakeClock clock;
+    private ActionScheduler scheduler;
+    private List<String> events;
+
+    @Before
+    public void setUp() {
+        clock = new FakeClock();
+        scheduler = new ActionScheduler(clock);
+        events = new ArrayList<>();
+    }
+
+    private Runnable log(String event) {
+        return () -> events.add(event + "@" + clock.nanos / 1_000_000L);
+    }
+
+    @Test
+    public void stepEndsOnFirstTickAtOrAfterDeadline() {
+        scheduler.then(100, log("a")).then(50, log("b"));
+
+        assertTrue(scheduler.update());
+        assertEquals(1, events.size());
+        assertEquals("a@0", events.get(0));
+
+        clock.advanceMs(60);
+        assertTrue(scheduler.update());
+        assertEquals(1, events.size());
+
+        // The tick lands past the deadline, so the next step starts late by the overshoot
+        clock.advanceMs(60);
+        assertTrue(scheduler.update());
+        assertEquals("b@120", events.get(1));
+
+        clock.advanceMs(49);
+        assertTrue(scheduler.update());
+        clock.advanceMs(1);
+        assertFalse(scheduler.update());
+        assertTrue(scheduler.isIdle());
+    }
+
+    @Test
+    public void zeroLengthStepsRunBackToBackInOneTick() {
+        scheduler.then(log("a")).then(log("b")).then(log("c")).hold(10).then(log("d"));
+
+        assertTrue(scheduler.update());
+        assertEquals(3, events.size());
+        assertEquals("a@0", events.get(0));
+        assertEquals("b@0", events.get(1));
+        assertEquals("c@0", events.get(2));
+
+        clock.advanceMs(10);
+        assertFalse(scheduler.update());
+        assertEquals("d@10", events.get(3));
+        assertTrue(scheduler.isIdle());
+    }
+
+    @Test
+    public void duringPassesElapsedSecondsFromStepStart() {
+        List<Double> elapsed = new ArrayList<>();
+        scheduler.hold(20).during(100, elapsed::add);
+
+        scheduler.update();
+        clock.advanceMs(30);
+        scheduler.update();
+        clock.advanceMs(25);
+        scheduler.update();
+        clock.advanceMs(70);
+        scheduler.update();
+        clock.advanceMs(10);
+        assertFalse(scheduler.update());
+
+        // Starts on the tick at 30 ms, runs on that tick and each tick before its deadline
+        assertEquals(3, elapsed.size());
+        assertEquals(0.0, elapsed.get(0), 1e-9);
+        assertEquals(0.025, elapsed.get(1), 1e-9);
+        assertEquals(0.095, elapsed.get(2), 1e-9);
+    }
+
+    @Test
+    public void clearDropsCurrentAndPendingSteps() {
+        List<Double> elapsed = new ArrayList<>();
+        scheduler.during(100, elapsed::add).then(log("after"));
+
+        assertTrue(scheduler.update());
+        assertFalse(scheduler.isIdle());
+
+        scheduler.clear();
+        assertTrue(scheduler.isIdle());
+        clock.advanceMs(200);
+        assertFalse(scheduler.update());
+        assertEquals(1, elapsed.size());
+        assertTrue(events.isEmpty());
+
+        // The scheduler is usable again after a clear
+        scheduler.then(log("next"));
+        assertFalse(scheduler.update());
+        assertEquals("next@200", events.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeDurationIsRejected() {
+        scheduler.then(-1, null);
+    }
+}
@@ -0,0 +1,69 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class DeadWheelLocalizerTest {
+    private static final double INCHES_PER_TICK = 0.001;
+    private static final double LATERAL_DISTANCE = 12;
+    private static final double FORWARD_OFFSET = -3;
+    private static final double TOLERANCE = 0.01;
+
+    private final DeadWheelLocalizer localizer =
+            new DeadWheelLocalizer(INCHES_PER_TICK, LATERAL_DISTANCE, FORWARD_OFFSET);
+    private double left;
+    private double right;
+    private double perpendicular;
+
+    /**
+     * Move the pods as an ideal chassis would and update the localizer each step.
+     */
+    private void drive(double forward, double lateral, double turn, int steps) {
+        for (int step = 0; step < steps; step++) {
+            double dTurn = turn / steps;
+            left += forward / steps - dTurn * LATERAL_DISTANCE / 2;
+            right += forward / steps + dTurn * LATERAL_DISTANCE / 2;
+            perpendicular += lateral / steps + dTurn * FORWARD_OFFSET;
+            localizer.update(ticks(left), ticks(right), ticks(perpendicular));
+        }
+    }
+
+    private static int ticks(double inches) {
+        return (int) Math.round(inches / INCHES_PER_TICK);
+    }
+
+    @Test
+    public void straightLine() {
+        localizer.update(0, 0, 0);
+        drive(36, 0, 0, 100);
+        assertEquals(36, localizer.getX(), TOLERANCE);
+        assertEquals(0, localizer.getY(), TOLERANCE);
+        assertEquals(0, localizer.getHeading(), 1e-4);
+    }
+
+    @Test
+    public void turnInPlaceCancelsPerpendicularPodOffset() {
+        localizer.update(0, 0, 0);
+        drive(0, 0, Math.PI, 100);
+        assertEquals(0, localizer.getX(), TOLERANCE);
+        assertEquals(0, localizer.getY(), TOLERANCE);
+        assertEquals(Math.PI, Math.abs(localizer.getHeading()), 1e-4);
+    }
+
+    @Test
+    public void arc() {
+        double radius = 15;
+        localizer.setPose(10, 0, Math.PI / 2);
+        localizer.update(0, 0, 0);
+        drive(radius * Math.PI / 2, 0, Math.PI / 2, 200);
+        assertEquals(10 - radius, localizer.getX(), TOLERANCE);
+        assertEquals(radius, localizer.getY(), TOLERANCE);
+        assertEquals(Math.PI, Math.abs(localizer.getHeading()), 1e-4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsZeroLateralDistance() {
+        new DeadWheelLocalizer(INCHES_PER_TICK, 0, 0);
+    }
+}
@@ -0,0 +1,57 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+public class HardwareRecorderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final HardwareRecorder recorder = new HardwareRecorder(16, () -> 0L);
+
+    @Test
+    public void registeringAWriteAgainKeepsItsChannel() {
+        int left = recorder.registerWrite("frontLeft");
+        int right = recorder.registerWrite("frontRight");
+        assertNotEquals(left, right);
+        assertEquals(left, recorder.registerWrite("frontLeft"));
+        assertEquals(right, recorder.registerWrite("frontRight"));
+    }
+
+    @Test
+    public void savedFileNamesEachWriteChannelOnce() throws IOException {
+        recorder.registerWrite("frontLeft");
+        recorder.registerWrite("frontLeft");
+        recorder.recordWrite(recorder.registerWrite("frontLeft"), 0.5);
+        File file = folder.newFile("recording.bin");
+        recorder.writeTo(file);
+
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            assertEquals(HardwareRecorder.MAGIC, in.readInt());
+            assertEquals(HardwareRecorder.VERSION, in.readInt());
+            assertEquals(0, in.readInt());
+            assertEquals(0, in.readInt());
+            assertEquals(1, in.readInt());
+            assertEquals("frontLeft", in.readUTF());
+            assertEquals(1, in.readInt());
+        }
+    }
+
+    @Test
+    public void oldestRecordsAreOverwrittenWhenFull() {
+        for (int i = 0; i < 20; i++) recorder.record(HardwareRecorder.CYCLE, 0, i, i);
+        assertEquals(16, recorder.size());
+        assertEquals(4, recorder.getDropped());
+        recorder.clear();
+        assertEquals(0, recorder.size());
+    }
+}
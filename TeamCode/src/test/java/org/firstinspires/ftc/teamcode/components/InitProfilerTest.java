@@ -0,0 +1,84 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import static org.junit.Assert.assertEquals;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class InitProfilerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final long MS = 1_000_000L;
+
+    /**
+     * Telemetry that keeps each formatted {@code addData} line
+     */
+    private static Telemetry recording(List<String> lines) {
+        return (Telemetry) Proxy.newProxyInstance(
+                Telemetry.class.getClassLoader(),
+                new Class<?>[] {Telemetry.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("addData") && args.length == 3) {
+                        lines.add(args[0] + ": "
+                                + String.format(Locale.US, (String) args[1], (Object[]) args[2]));
+                    }
+                    return null;
+                });
+    }
+
+    private static List<String> run(File file, long modelMs, long imuMs) throws IOException {
+        InitProfiler profiler = new InitProfiler();
+        profiler.record("model", modelMs * MS);
+        profiler.record("imu", imuMs * MS);
+        profiler.save(file);
+        List<String> lines = new ArrayList<>();
+        profiler.publish(recording(lines));
+        return lines;
+    }
+
+    @Test
+    public void meanCoversOnlyEarlierRuns() throws IOException {
+        File file = new File(folder.getRoot(), "init_profile.csv");
+
+        List<String> first = run(file, 100, 10);
+        assertEquals("Init model: 100 ms", first.get(0));
+        assertEquals("Init imu: 10 ms", first.get(1));
+
+        run(file, 300, 30);
+        List<String> third = run(file, 800, 80);
+        assertEquals("Init model: 800 ms, mean 200 over 2 earlier runs", third.get(0));
+        assertEquals("Init imu: 80 ms, mean 20 over 2 earlier runs", third.get(1));
+    }
+
+    @Test
+    public void summaryFileIncludesTheCurrentRun() throws IOException {
+        File file = new File(folder.getRoot(), "init_profile.csv");
+        run(file, 100, 10);
+        run(file, 300, 30);
+
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertEquals(3, lines.size());
+        assertEquals("model,2,400.000,200.000,100.000,300.000,300.000", lines.get(1));
+        assertEquals("imu,2,40.000,20.000,10.000,30.000,30.000", lines.get(2));
+    }
+
+    @Test
+    public void spansWithTheSameNameAddUp() {
+        InitProfiler profiler = new InitProfiler();
+        profiler.record("tfod", 5 * MS);
+        profiler.record("tfod", 7 * MS);
+        assertEquals(12 * MS, profiler.getNanos("tfod"));
+        assertEquals(0, profiler.getNanos("missing"));
+    }
+}
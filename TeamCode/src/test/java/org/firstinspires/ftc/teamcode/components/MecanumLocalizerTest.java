@@ -0,0 +1,77 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class MecanumLocalizerTest {
+    private static final double INCHES_PER_TICK = 0.001;
+    private static final double TOLERANCE = 0.01;
+
+    private final MecanumKinematics kinematics = MecanumKinematics.fromGeometry(14, 12);
+    private final MecanumLocalizer localizer = new MecanumLocalizer(kinematics, INCHES_PER_TICK);
+    private final double[] travel = new double[MecanumKinematics.WHEELS];
+    private final double[] wheels = new double[MecanumKinematics.WHEELS];
+    private final int[] ticks = new int[MecanumKinematics.WHEELS];
+
+    /**
+     * Move the wheels as an ideal chassis would and update the localizer each step.
+     */
+    private void drive(double forward, double left, double turn, int steps) {
+        for (int step = 0; step < steps; step++) {
+            kinematics.inverse(forward / steps, left / steps, turn / steps, wheels);
+            for (int i = 0; i < MecanumKinematics.WHEELS; i++) {
+                travel[i] += wheels[i];
+                ticks[i] = (int) Math.round(travel[i] / INCHES_PER_TICK);
+            }
+            localizer.update(ticks);
+        }
+    }
+
+    @Test
+    public void firstUpdateOnlySeeds() {
+        ticks[0] = 12345;
+        ticks[3] = -678;
+        localizer.update(ticks);
+        assertEquals(0, localizer.getX(), 0);
+        assertEquals(0, localizer.getY(), 0);
+        assertEquals(0, localizer.getHeading(), 0);
+    }
+
+    @Test
+    public void straightLine() {
+        localizer.update(ticks);
+        drive(48, 0, 0, 100);
+        assertEquals(48, localizer.getX(), TOLERANCE);
+        assertEquals(0, localizer.getY(), TOLERANCE);
+        assertEquals(0, localizer.getHeading(), 1e-4);
+    }
+
+    @Test
+    public void strafe() {
+        localizer.update(ticks);
+        drive(0, -24, 0, 100);
+        assertEquals(0, localizer.getX(), TOLERANCE);
+        assertEquals(-24, localizer.getY(), TOLERANCE);
+    }
+
+    @Test
+    public void turnInPlace() {
+        localizer.update(ticks);
+        drive(0, 0, Math.PI / 2, 100);
+        assertEquals(0, localizer.getX(), TOLERANCE);
+        assertEquals(0, localizer.getY(), TOLERANCE);
+        assertEquals(Math.PI / 2, localizer.getHeading(), 1e-4);
+    }
+
+    @Test
+    public void arc() {
+        double radius = 20;
+        localizer.setPose(0, 0, 0);
+        localizer.update(ticks);
+        drive(radius * Math.PI / 2, 0, Math.PI / 2, 200);
+        assertEquals(radius, localizer.getX(), TOLERANCE);
+        assertEquals(radius, localizer.getY(), TOLERANCE);
+        assertEquals(Math.PI / 2, localizer.getHeading(), 1e-4);
+    }
+}
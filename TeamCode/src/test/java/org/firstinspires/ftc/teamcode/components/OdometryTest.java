@@ -0,0 +1,80 @@
+package org.firstinspires.ftc.teamcode.components;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class OdometryTest {
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    public void straightLineFollowsHeading() {
+        Odometry odometry = new Odometry();
+        odometry.setPose(1, 2, Math.PI / 2);
+        for (int i = 0; i < 10; i++) odometry.integrate(1, 0, 0);
+        assertEquals(1, odometry.getX(), EPSILON);
+        assertEquals(12, odometry.getY(), EPSILON);
+        assertEquals(Math.PI / 2, odometry.getHeading(), EPSILON);
+    }
+
+    @Test
+    public void turnInPlaceKeepsPosition() {
+        Odometry odometry = new Odometry();
+        for (int i = 0; i < 8; i++) odometry.integrate(0, 0, Math.PI / 4);
+        assertEquals(0, odometry.getX(), EPSILON);
+        assertEquals(0, odometry.getY(), EPSILON);
+        assertEquals(0, odometry.getHeading(), EPSILON);
+    }
+
+    @Test
+    public void arcIsExactInOneStep() {
+        // Quarter circle of radius 10 to the left
+        double radius = 10;
+        Odometry odometry = new Odometry();
+        odometry.integrate(radius * Math.PI / 2, 0, Math.PI / 2);
+        assertEquals(radius, odometry.getX(), EPSILON);
+        assertEquals(radius, odometry.getY(), EPSILON);
+        assertEquals(Math.PI / 2, odometry.getHeading(), EPSILON);
+    }
+
+    @Test
+    public void arcDoesNotDependOnStepCount() {
+        double radius = 10;
+        int steps = 1000;
+        Odometry odometry = new Odometry();
+        for (int i = 0; i < steps; i++) {
+            odometry.integrate(radius * Math.PI / steps, 0, Math.PI / steps);
+        }
+        // Half circle ends across the diameter, facing back
+        assertEquals(0, odometry.getX(), 1e-6);
+        assertEquals(2 * radius, odometry.getY(), 1e-6);
+        assertEquals(Math.PI, Math.abs(odometry.getHeading()), 1e-6);
+    }
+
+    @Test
+    public void strafeArcIsExact() {
+        // Strafing left while turning also moves along a circle
+        double radius = 5;
+        Odometry odometry = new Odometry();
+        odometry.integrate(0, radius * Math.PI / 2, Math.PI / 2);
+        assertEquals(-radius, odometry.getX(), EPSILON);
+        assertEquals(radius, odometry.getY(), EPSILON);
+    }
+
+    @Test
+    public void wrapKeepsHalfOpenRange() {
+        assertEquals(Math.PI, Odometry.wrap(Math.PI), EPSILON);
+        assertEquals(Math.PI, Odometry.wrap(-Math.PI), EPSILON);
+        assertEquals(0, Odometry.wrap(2 * Math.PI), EPSILON);
+        assertEquals(-Math.PI / 2, Odometry.wrap(3 * Math.PI / 2), EPSILON);
+        assertEquals(0.5, Odometry.wrap(0.5 + 2e6 * Math.PI), 1e-6);
+    }
+
+    @Test(timeout = 1000)
+    public void wrapReturnsForNonFiniteAngles() {
+        assertTrue(Double.isNaN(Odometry.wrap(Double.POSITIVE_INFINITY)));
+        assertTrue(Double.isNaN(Odometry.wrap(Double.NEGATIVE_INFINITY)));
+        assertTrue(Double.isNaN(Odometry.wrap(Double.NaN)));
+    }
+}
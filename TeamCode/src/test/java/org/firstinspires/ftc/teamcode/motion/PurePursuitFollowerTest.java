@@ -0,0 +1,106 @@
+package org.firstinspires.ftc.teamcode.motion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.firstinspires.ftc.teamcode.components.MecanumKinematics;
+import org.firstinspires.ftc.teamcode.components.Odometry;
+import org.junit.Test;
+
+public class PurePursuitFollowerTest {
+    private static final double DT = 0.01;
+
+    private final Path path = new PathBuilder(0, 0, 0)
+            .splineTo(36, 24, Math.PI / 2)
+            .splineTo(12, 60, Math.PI)
+            .build();
+    private final Trajectory trajectory = VelocityPlanner.plan(path, new TrajectoryConstraints(
+            40, 60, 80, 50, MecanumKinematics.fromGeometry(14, 12)));
+
+    /**
+     * Smallest distance from a point to any path sample.
+     */
+    private double crossTrack(double x, double y) {
+        double best = Double.MAX_VALUE;
+        for (int i = 0; i < path.size(); i++) {
+            best = Math.min(best, Math.hypot(path.getX(i) - x, path.getY(i) - y));
+        }
+        return best;
+    }
+
+    /**
+     * Follow the path on an ideal chassis that moves exactly as commanded.
+     *
+     * @return The largest cross-track error
+     */
+    private double follow(PurePursuitFollower follower, Odometry pose) {
+        double[] command = new double[3];
+        double maxError = 0;
+        double progress = follower.getProgress();
+        int ticks = (int) (3 * trajectory.getDuration() / DT);
+        for (int tick = 0; tick < ticks; tick++) {
+            if (!follower.update(pose.getX(), pose.getY(), pose.getHeading(), command)) break;
+            pose.integrate(
+                    command[MecanumKinematics.VX] * DT,
+                    command[MecanumKinematics.VY] * DT,
+                    command[MecanumKinematics.OMEGA] * DT);
+            assertTrue("Cursor moved back", follower.getProgress() >= progress);
+            progress = follower.getProgress();
+            maxError = Math.max(maxError, crossTrack(pose.getX(), pose.getY()));
+        }
+        return maxError;
+    }
+
+    @Test
+    public void followsPathToTheEnd() {
+        PurePursuitFollower follower = new PurePursuitFollower(trajectory);
+        Odometry pose = new Odometry();
+        double maxError = follow(follower, pose);
+
+        assertTrue("Did not finish", follower.isFinished());
+        int last = path.size() - 1;
+        assertEquals(path.getX(last), pose.getX(), PurePursuitFollower.DEFAULT_TOLERANCE);
+        assertEquals(path.getY(last), pose.getY(), PurePursuitFollower.DEFAULT_TOLERANCE);
+        assertEquals(path.getHeading(last), pose.getHeading(), 0.05);
+        // Pure pursuit cuts inside curves by a fraction of the lookahead
+        assertTrue("Cross-track error " + maxError, maxError < 2.0);
+    }
+
+    @Test
+    public void convergesFromAnOffsetStart() {
+        PurePursuitFollower follower = new PurePursuitFollower(trajectory);
+        Odometry pose = new Odometry();
+        pose.setPose(0, -3, 0.2);
+        double maxError = follow(follower, pose);
+
+        assertTrue("Did not finish", follower.isFinished());
+        assertTrue("Cross-track error " + maxError, maxError < 3.5);
+        assertEquals(0, crossTrack(pose.getX(), pose.getY()), 0.5);
+    }
+
+    @Test
+    public void searchIsBoundedPerTick() {
+        PurePursuitFollower follower = new PurePursuitFollower(trajectory);
+        follow(follower, new Odometry());
+        // The robot covers well under a few samples per tick, plus the slack past the minimum
+        assertTrue("Search steps " + follower.getMaxSearchSteps(),
+                follower.getMaxSearchSteps() <= 12);
+    }
+
+    @Test
+    public void stopsOnceFinished() {
+        PurePursuitFollower follower = new PurePursuitFollower(trajectory);
+        follow(follower, new Odometry());
+        double[] command = {1, 1, 1};
+        int last = path.size() - 1;
+        assertFalse(follower.update(path.getX(last), path.getY(last), 0, command));
+        assertEquals(0, command[MecanumKinematics.VX], 0);
+        assertEquals(0, command[MecanumKinematics.VY], 0);
+        assertEquals(0, command[MecanumKinematics.OMEGA], 0);
+
+        follower.reset();
+        assertFalse(follower.isFinished());
+        assertEquals(0, follower.getProgress(), 0);
+    }
+}
@@ -0,0 +1,105 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.hardware.IMU;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.teamcode.components.ActionScheduler;
+import org.firstinspires.ftc.teamcode.components.DriveTrain;
+import org.firstinspires.ftc.teamcode.components.MecanumKinematics;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Drives a {@link DriveTrain} built from a hardware map holding the simulated devices.
+ */
+public class MecanumSimulationTest {
+    private static final double PERIOD = 0.01;
+    private static final double POSITION_TOLERANCE = 0.5;
+
+    private final MecanumSimulation sim = new MecanumSimulation();
+    private final HardwareMap hardwareMap = new HardwareMap(null, null);
+    private DriveTrain driveTrain;
+
+    @Before
+    public void setUp() {
+        sim.install(hardwareMap);
+        driveTrain = new DriveTrain(hardwareMap, new ActionScheduler(sim.getClock()));
+    }
+
+    /**
+     * Tick the drive train and the simulation until the queued moves finish, then let the robot
+     * settle.
+     */
+    private void run(double timeout) {
+        double end = sim.getClock().seconds() + timeout;
+        while (driveTrain.update()) {
+            assertTrue("Moves did not finish in time", sim.getClock().seconds() < end);
+            sim.step(PERIOD);
+        }
+        sim.step(1.0);
+    }
+
+    @Test
+    public void installRegistersDevicesUnderDriveTrainNames() {
+        assertSame(sim.getMotor(MecanumKinematics.FRONT_LEFT),
+                hardwareMap.get(DcMotor.class, "frontLeft"));
+        assertSame(sim.getMotor(MecanumKinematics.FRONT_RIGHT),
+                hardwareMap.get(DcMotor.class, "backRight"));
+        assertSame(sim.getImu(), hardwareMap.get(IMU.class, "imu"));
+    }
+
+    @Test
+    public void profiledDriveReachesTarget() {
+        driveTrain.queueProfiledMove(0, DriveTrain.TILE);
+        run(5);
+
+        // DriveTrain.move() maps the drive axis to the robot's -x
+        assertEquals(-DriveTrain.TILE, sim.getX(), POSITION_TOLERANCE);
+        assertEquals(0, sim.getY(), POSITION_TOLERANCE);
+        assertEquals(0, sim.getHeading(), 0.01);
+    }
+
+    @Test
+    public void profiledStrafeReachesTarget() {
+        driveTrain.queueProfiledMove(DriveTrain.TILE, 0);
+        run(5);
+
+        assertEquals(0, sim.getX(), POSITION_TOLERANCE);
+        assertEquals(-DriveTrain.TILE, sim.getY(), POSITION_TOLERANCE);
+    }
+
+    @Test
+    public void encodersReadThroughTheHardwareMapFollowWheelTravel() {
+        int[] ticks = new int[MecanumKinematics.WHEELS];
+        driveTrain.drive(0.5, 0, 0);
+        sim.step(1.0);
+        driveTrain.update();
+        driveTrain.getWheelPositions(ticks);
+        for (int i = 0; i < MecanumKinematics.WHEELS; i++) {
+            assertTrue(ticks[i] > 0);
+            assertEquals(sim.getPlant().getWheelTravel(i), ticks[i] * DriveTrain.INCHES_PER_TICK,
+                    DriveTrain.INCHES_PER_TICK);
+        }
+    }
+
+    @Test
+    public void imuReportsTheChassisHeading() {
+        IMU imu = hardwareMap.get(IMU.class, "imu");
+        driveTrain.drive(0, 0, 0.3);
+        sim.step(0.5);
+        driveTrain.drive(0, 0, 0);
+        sim.step(1.0);
+
+        assertTrue(sim.getHeading() > 0.1);
+        assertEquals(sim.getHeading(),
+                imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS), 1e-9);
+        imu.resetYaw();
+        assertEquals(0, imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS), 1e-9);
+    }
+}
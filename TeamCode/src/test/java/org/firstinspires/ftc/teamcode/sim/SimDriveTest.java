@@ -0,0 +1,94 @@
+package org.firstinspires.ftc.teamcode.sim;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.firstinspires.ftc.teamcode.components.ActionScheduler;
+import org.firstinspires.ftc.teamcode.components.DriveTrain;
+import org.firstinspires.ftc.teamcode.components.MecanumKinematics;
+import org.firstinspires.ftc.teamcode.components.ProfiledMove;
+import org.firstinspires.ftc.teamcode.motion.MotionProfile;
+import org.firstinspires.ftc.teamcode.motion.MotionProfiles;
+import org.junit.Test;
+
+public class SimDriveTest {
+    private static final double PERIOD = 0.01;
+    private static final double POSITION_TOLERANCE = 0.5;
+
+    private final MecanumPlant plant = new MecanumPlant();
+    private final SimDrive drive = new SimDrive(plant);
+    private final ActionScheduler scheduler = new ActionScheduler(plant.getClock());
+
+    private MotionProfile profile(double x, double y) {
+        return MotionProfiles.sCurve(Math.hypot(x, y), DriveTrain.DEFAULT_CONSTRAINTS);
+    }
+
+    @Test
+    public void profiledDriveReachesTarget() {
+        MotionProfile profile = profile(0, DriveTrain.TILE);
+        ProfiledMove.queue(scheduler, drive, 0, DriveTrain.TILE, profile);
+        assertTrue(drive.run(scheduler, PERIOD, profile.getDuration() + 1));
+        plant.step(1.0);
+
+        // DriveTrain.move() maps the drive axis to the robot's -x
+        assertEquals(-DriveTrain.TILE, plant.getX(), POSITION_TOLERANCE);
+        assertEquals(0, plant.getY(), POSITION_TOLERANCE);
+        assertEquals(0, plant.getHeading(), 0.01);
+        assertEquals(profile.getDuration(), plant.getClock().seconds() - 1.0, 2 * PERIOD);
+    }
+
+    @Test
+    public void profiledStrafeReachesTarget() {
+        MotionProfile profile = profile(DriveTrain.TILE, 0);
+        ProfiledMove.queue(scheduler, drive, DriveTrain.TILE, 0, profile);
+        assertTrue(drive.run(scheduler, PERIOD, profile.getDuration() + 1));
+        plant.step(1.0);
+
+        assertEquals(0, plant.getX(), POSITION_TOLERANCE);
+        assertEquals(-DriveTrain.TILE, plant.getY(), POSITION_TOLERANCE);
+        assertEquals(0, plant.getHeading(), 0.01);
+    }
+
+    @Test
+    public void consecutiveMovesEachStartFromTheirOwnTicks() {
+        ProfiledMove.queue(scheduler, drive, 0, DriveTrain.TILE, profile(0, DriveTrain.TILE));
+        ProfiledMove.queue(scheduler, drive, 0, -DriveTrain.TILE, profile(0, DriveTrain.TILE));
+        assertTrue(drive.run(scheduler, PERIOD, 10));
+        plant.step(1.0);
+
+        assertEquals(0, plant.getX(), POSITION_TOLERANCE);
+        assertEquals(0, plant.getY(), POSITION_TOLERANCE);
+    }
+
+    @Test
+    public void zeroLengthMoveQueuesNothing() {
+        ProfiledMove.queue(scheduler, drive, 0, 0, profile(1, 0));
+        assertTrue(scheduler.isIdle());
+    }
+
+    @Test
+    public void encodersFollowWheelTravel() {
+        int[] ticks = new int[MecanumKinematics.WHEELS];
+        drive.drive(0.5, 0, 0);
+        plant.step(1.0);
+        drive.getWheelPositions(ticks);
+        for (int i = 0; i < MecanumKinematics.WHEELS; i++) {
+            assertTrue(ticks[i] > 0);
+            assertEquals(plant.getWheelTravel(i), ticks[i] * DriveTrain.INCHES_PER_TICK,
+                    DriveTrain.INCHES_PER_TICK);
+        }
+    }
+
+    @Test
+    public void frictionStopsACoastingRobot() {
+        drive.drive(1, 0, 0);
+        plant.step(1.0);
+        assertTrue(plant.getVelocityX() > 0.5 * DriveTrain.MAX_WHEEL_VELOCITY);
+        assertTrue(plant.getVelocityX() < DriveTrain.MAX_WHEEL_VELOCITY);
+
+        // Unpowered wheels back-drive the motors as well, so the robot comes to rest
+        drive.drive(0, 0, 0);
+        plant.step(2.0);
+        assertEquals(0, plant.getVelocityX(), 0);
+    }
+}